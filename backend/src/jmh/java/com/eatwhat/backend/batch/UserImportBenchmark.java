@@ -0,0 +1,79 @@
+package com.eatwhat.backend.batch;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.infrastructure.item.ItemProcessor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.eatwhat.backend.benchmark.InMemoryRepository;
+import com.eatwhat.backend.model.User;
+import com.eatwhat.backend.repository.UserRepository;
+
+/**
+ * The loadUserStep processor for each kind of users.csv line: an existing user
+ * (skipped), a new user and a new user whose role falls back to GUEST.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserImportBenchmark {
+
+	@Param({ "100", "10000" })
+	public int existingUsers;
+
+	private ItemProcessor<UserCsvRecord, User> processor;
+	private UserCsvRecord existingUser;
+	private UserCsvRecord newUser;
+	private UserCsvRecord unknownRole;
+
+	@Setup
+	public void setUp() {
+		Set<String> usernames = new HashSet<>();
+		for (int i = 0; i < existingUsers; i++) {
+			usernames.add("user" + i);
+		}
+		UserRepository userRepo = InMemoryRepository.of(UserRepository.class, Map.of(
+				"existsByUsername", args -> usernames.contains(args[0])));
+
+		UserBatchConfig config = new UserBatchConfig();
+		ReflectionTestUtils.setField(config, "userRepo", userRepo);
+		processor = config.userItemProcessor();
+
+		existingUser = new UserCsvRecord("user0", "user0@example.com", "GUEST");
+		newUser = new UserCsvRecord("newcomer", "newcomer@example.com", "session_initiator");
+		unknownRole = new UserCsvRecord("newcomer", "newcomer@example.com", "admin");
+	}
+
+	@Benchmark
+	public User existingUser() throws Exception {
+		return processor.process(existingUser);
+	}
+
+	@Benchmark
+	public User newUser() throws Exception {
+		return processor.process(newUser);
+	}
+
+	@Benchmark
+	public User unknownRole() throws Exception {
+		return processor.process(unknownRole);
+	}
+
+}
@@ -0,0 +1,86 @@
+package com.eatwhat.backend.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.mysql.MySQLContainer;
+
+import com.eatwhat.backend.BackendApplication;
+import com.eatwhat.backend.model.User;
+import com.eatwhat.backend.service.UserService;
+
+/**
+ * The backend on a freshly migrated MySQL for the *DatabaseBenchmark classes: a
+ * mysql:8.4 container per trial by default, or the schema given with
+ * -Dbenchmark.datasource.url (and .username, .password) on a dedicated host.
+ * That schema is wiped at the start of every trial, so it must be a scratch one.
+ * Startup jobs and SQL logging are off so they do not land in the numbers.
+ */
+public final class DatabaseBenchmarkContext implements AutoCloseable {
+
+	private final MySQLContainer mysql;
+	private final ConfigurableApplicationContext context;
+
+	private DatabaseBenchmarkContext(MySQLContainer mysql, ConfigurableApplicationContext context) {
+		this.mysql = mysql;
+		this.context = context;
+	}
+
+	public static DatabaseBenchmarkContext start(String... args) {
+		String url = System.getProperty("benchmark.datasource.url");
+		String username = System.getProperty("benchmark.datasource.username", "root");
+		String password = System.getProperty("benchmark.datasource.password", "");
+		MySQLContainer mysql = null;
+		if (url == null) {
+			mysql = new MySQLContainer("mysql:8.4");
+			mysql.start();
+			// the same driver settings as application.properties
+			url = mysql.getJdbcUrl() + (mysql.getJdbcUrl().contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+			username = mysql.getUsername();
+			password = mysql.getPassword();
+		} else {
+			Flyway.configure().dataSource(url, username, password).cleanDisabled(false).load().clean();
+		}
+
+		List<String> properties = new ArrayList<>(List.of("--server.port=0", "--spring.batch.job.enabled=false",
+				"--app.archive.enabled=false", "--spring.jpa.show-sql=false", "--logging.level.com.eatwhat.backend=WARN",
+				"--spring.datasource.url=" + url,
+				"--spring.datasource.username=" + username,
+				"--spring.datasource.password=" + password));
+		properties.addAll(List.of(args));
+		try {
+			return new DatabaseBenchmarkContext(mysql,
+					new SpringApplicationBuilder(BackendApplication.class).run(properties.toArray(String[]::new)));
+		} catch (RuntimeException e) {
+			if (mysql != null) {
+				mysql.stop();
+			}
+			throw e;
+		}
+	}
+
+	public <T> T getBean(Class<T> type) {
+		return context.getBean(type);
+	}
+
+	public JdbcTemplate jdbc() {
+		return context.getBean(JdbcTemplate.class);
+	}
+
+	public void createUser(String username) {
+		getBean(UserService.class).createUser(username, username + "@example.com", User.UserRole.SESSION_INITIATOR);
+	}
+
+	@Override
+	public void close() {
+		context.close();
+		if (mysql != null) {
+			mysql.stop();
+		}
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.eatwhat.backend.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A Spring Data repository interface answered from memory, so a benchmark
+ * measures the service around it rather than MySQL. Only the named methods are
+ * implemented, calling any other one fails the benchmark.
+ */
+public final class InMemoryRepository {
+
+	private InMemoryRepository() {
+	}
+
+	public static <R> R of(Class<R> type, Map<String, Function<Object[], Object>> methods) {
+		InvocationHandler handler = (proxy, method, args) -> {
+			if (method.getDeclaringClass() == Object.class) {
+				return switch (method.getName()) {
+					case "equals" -> proxy == args[0];
+					case "hashCode" -> System.identityHashCode(proxy);
+					default -> "InMemory" + type.getSimpleName();
+				};
+			}
+			if (method.isDefault()) {
+				return InvocationHandler.invokeDefault(proxy, method, args);
+			}
+			Function<Object[], Object> body = methods.get(method.getName());
+			if (body == null) {
+				throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+			}
+			return body.apply(args);
+		};
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+	}
+
+}
@@ -0,0 +1,93 @@
+package com.eatwhat.backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.eatwhat.backend.model.Restaurant;
+import com.eatwhat.backend.model.Session;
+import com.eatwhat.backend.model.User;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * The response bodies the polled endpoints write, serialized as the MVC
+ * converters do: a session with its restaurants, a restaurant list, a single
+ * restaurant (also one line of the NDJSON export) and an error.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+	@Param({ "10", "100" })
+	public int restaurants;
+
+	// Boot's auto-configured mapper also registers the modules found on the classpath
+	private final JsonMapper jsonMapper = JsonMapper.builder().findAndAddModules().build();
+
+	private ApiResponse<Session> session;
+	private ApiResponse<List<Restaurant>> restaurantList;
+	private Restaurant restaurant;
+	private ApiResponse<Object> error;
+
+	@Setup
+	public void setUp() {
+		User initiator = new User("ruschin.chin", "ruschin.chin@example.com", User.UserRole.SESSION_INITIATOR);
+		initiator.setId(1L);
+		Session fixture = new Session("7K3QX9M", initiator);
+		fixture.setId(1L);
+		fixture.setFirstSubmitter(initiator.getUsername());
+
+		List<Restaurant> rows = new ArrayList<>(restaurants);
+		for (int i = 0; i < restaurants; i++) {
+			Restaurant row = new Restaurant("Restaurant " + i, initiator.getUsername(), fixture);
+			row.setId(i + 1L);
+			row.setAddedVersion(i + 1L);
+			rows.add(row);
+		}
+		fixture.setRestaurants(rows);
+		fixture.setVersion(restaurants);
+
+		session = ApiResponse.success(fixture);
+		restaurantList = ApiResponse.success(rows);
+		restaurant = rows.get(0);
+		error = ApiResponse.error("Session not found: 0000000", 404);
+	}
+
+	@Benchmark
+	public byte[] session() {
+		return jsonMapper.writeValueAsBytes(session);
+	}
+
+	@Benchmark
+	public byte[] restaurantList() {
+		return jsonMapper.writeValueAsBytes(restaurantList);
+	}
+
+	@Benchmark
+	public byte[] restaurant() {
+		return jsonMapper.writeValueAsBytes(restaurant);
+	}
+
+	@Benchmark
+	public byte[] error() {
+		return jsonMapper.writeValueAsBytes(error);
+	}
+
+}
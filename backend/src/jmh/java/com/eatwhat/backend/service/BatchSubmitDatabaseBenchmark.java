@@ -0,0 +1,90 @@
+package com.eatwhat.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.eatwhat.backend.benchmark.DatabaseBenchmarkContext;
+import com.eatwhat.backend.model.Restaurant;
+
+/**
+ * Submitting 1, 100 and 1000 restaurants to an empty session against MySQL,
+ * one request per restaurant as before the batch endpoint, and as one batch
+ * whose inserts go out as JDBC batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchSubmitDatabaseBenchmark {
+
+	private static final String SUBMITTER = "ruschin.chin";
+
+	@Param({ "1", "100", "1000" })
+	public int rows;
+
+	private DatabaseBenchmarkContext context;
+	private SessionService sessionSvc;
+	private RestaurantService restaurantSvc;
+	private List<String> names;
+
+	@Setup
+	public void setUp() {
+		context = DatabaseBenchmarkContext.start();
+		context.createUser(SUBMITTER);
+		sessionSvc = context.getBean(SessionService.class);
+		restaurantSvc = context.getBean(RestaurantService.class);
+		names = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++) {
+			names.add("Restaurant " + i);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	// every submission goes to a new session, created outside the measured time
+	@State(Scope.Thread)
+	public static class EmptySession {
+
+		String code;
+
+		@Setup(Level.Invocation)
+		public void create(BatchSubmitDatabaseBenchmark benchmark) {
+			code = benchmark.sessionSvc.createSession(SUBMITTER).getSessionCode();
+		}
+
+	}
+
+	@Benchmark
+	public void oneByOne(EmptySession session, Blackhole blackhole) {
+		for (String name : names) {
+			blackhole.consume(restaurantSvc.submitRestaurant(session.code, name, SUBMITTER));
+		}
+	}
+
+	@Benchmark
+	public List<Restaurant> batch(EmptySession session) {
+		return restaurantSvc.submitRestaurants(session.code, names, SUBMITTER);
+	}
+
+}
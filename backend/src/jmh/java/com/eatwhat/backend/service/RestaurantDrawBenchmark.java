@@ -0,0 +1,143 @@
+package com.eatwhat.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.eatwhat.backend.benchmark.InMemoryRepository;
+import com.eatwhat.backend.benchmark.NoOpTransactionManager;
+import com.eatwhat.backend.model.Restaurant;
+import com.eatwhat.backend.model.Session;
+import com.eatwhat.backend.model.User;
+import com.eatwhat.backend.repository.RestaurantRepository;
+import com.eatwhat.backend.repository.SessionMetadata;
+import com.eatwhat.backend.repository.SessionRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The random draw and the first-submitter check on the database path (hot
+ * sessions disabled), over sessions of different sizes held in memory. The
+ * draw's lock always succeeds and leaves the session active, so every
+ * invocation draws again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestaurantDrawBenchmark {
+
+	private static final String SESSION_CODE = "7K3QX9M";
+	private static final String FIRST_SUBMITTER = "ruschin.chin";
+
+	@Param({ "10", "1000", "100000" })
+	public int restaurants;
+
+	private RestaurantService restaurantSvc;
+
+	@Setup
+	public void setUp() {
+		User initiator = new User(FIRST_SUBMITTER, "ruschin.chin@example.com", User.UserRole.SESSION_INITIATOR);
+		initiator.setId(1L);
+		Session session = new Session(SESSION_CODE, initiator);
+		session.setId(1L);
+		session.setFirstSubmitter(FIRST_SUBMITTER);
+		SessionMetadata metadata = new SessionMetadata(session.getId(), SESSION_CODE, Session.SessionStatus.ACTIVE,
+				initiator.getId(), initiator.getUsername());
+
+		List<Restaurant> rows = new ArrayList<>(restaurants);
+		Map<Long, Restaurant> byId = new HashMap<>();
+		for (int i = 0; i < restaurants; i++) {
+			Restaurant restaurant = new Restaurant("Restaurant " + i, FIRST_SUBMITTER, session);
+			restaurant.setId(i + 1L);
+			rows.add(restaurant);
+			byId.put(restaurant.getId(), restaurant);
+		}
+
+		SessionRepository.FirstSubmitterView firstSubmitter = new SessionRepository.FirstSubmitterView() {
+			@Override
+			public Long getId() {
+				return session.getId();
+			}
+
+			@Override
+			public String getFirstSubmitter() {
+				return session.getFirstSubmitter();
+			}
+		};
+		SessionRepository sessionRepo = InMemoryRepository.of(SessionRepository.class, Map.of(
+				"findMetadataBySessionCode", args -> Optional.of(metadata).filter(m -> m.sessionCode().equals(args[0])),
+				"findFirstSubmitterBySessionCode", args -> Optional.of(firstSubmitter).filter(v -> SESSION_CODE.equals(args[0])),
+				"getReferenceById", args -> session,
+				"lockIfActive", args -> 1,
+				"findVersionById", args -> session.getVersion()));
+		RestaurantRepository restaurantRepo = InMemoryRepository.of(RestaurantRepository.class, Map.of(
+				"countBySession", args -> (long) rows.size(),
+				"findIdsBySessionId", args -> List.of(rows.get((int) ((Pageable) args[1]).getOffset()).getId()),
+				"findByIdForShare", args -> Optional.ofNullable(byId.get(args[0]))));
+
+		PlatformTransactionManager transactionManager = new NoOpTransactionManager();
+		MeterRegistry meterRegistry = new SimpleMeterRegistry();
+		ApplicationEventPublisher eventPublisher = event -> {
+		};
+		// disabled, so every call falls through to the repositories
+		HotSessionEngine hotSessions = new HotSessionEngine();
+
+		SessionMetadataCache metadataCache = new SessionMetadataCache();
+		ReflectionTestUtils.setField(metadataCache, "sessionRepo", sessionRepo);
+		ReflectionTestUtils.setField(metadataCache, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(metadataCache, "maxSize", 10000);
+		ReflectionTestUtils.setField(metadataCache, "ttlMs", 30000L);
+		metadataCache.init();
+
+		SessionService sessionSvc = new SessionService();
+		ReflectionTestUtils.setField(sessionSvc, "sessionRepo", sessionRepo);
+		ReflectionTestUtils.setField(sessionSvc, "metadataCache", metadataCache);
+		ReflectionTestUtils.setField(sessionSvc, "hotSessions", hotSessions);
+		ReflectionTestUtils.setField(sessionSvc, "transactionManager", transactionManager);
+		ReflectionTestUtils.setField(sessionSvc, "meterRegistry", meterRegistry);
+		sessionSvc.init();
+
+		restaurantSvc = new RestaurantService();
+		ReflectionTestUtils.setField(restaurantSvc, "restaurantRepo", restaurantRepo);
+		ReflectionTestUtils.setField(restaurantSvc, "sessionRepo", sessionRepo);
+		ReflectionTestUtils.setField(restaurantSvc, "sessionSvc", sessionSvc);
+		ReflectionTestUtils.setField(restaurantSvc, "hotSessions", hotSessions);
+		ReflectionTestUtils.setField(restaurantSvc, "eventPublisher", eventPublisher);
+		ReflectionTestUtils.setField(restaurantSvc, "transactionManager", transactionManager);
+		restaurantSvc.init();
+	}
+
+	@Benchmark
+	public Restaurant getRandomRestaurant() {
+		return restaurantSvc.getRandomRestaurant(SESSION_CODE);
+	}
+
+	@Benchmark
+	public boolean canRequestRandom() {
+		return restaurantSvc.canRequestRandom(SESSION_CODE, FIRST_SUBMITTER);
+	}
+
+}
@@ -0,0 +1,92 @@
+package com.eatwhat.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.eatwhat.backend.benchmark.DatabaseBenchmarkContext;
+import com.eatwhat.backend.model.Restaurant;
+
+/**
+ * can-request-random and the random draw against MySQL, for a session of 10 and
+ * one of 10k restaurants. Both should take about as long at either size: the
+ * first reads one column of the session row, the second counts, seeks to a
+ * random offset in the session's index and locks that one row FOR SHARE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RestaurantDrawDatabaseBenchmark {
+
+	private static final String FIRST_SUBMITTER = "ruschin.chin";
+	private static final int SUBMIT_BATCH = 1000;
+
+	@Param({ "10", "10000" })
+	public int restaurants;
+
+	private DatabaseBenchmarkContext context;
+	private RestaurantService restaurantSvc;
+	private String sessionCode;
+	private long sessionId;
+
+	@Setup
+	public void setUp() {
+		context = DatabaseBenchmarkContext.start();
+		context.createUser(FIRST_SUBMITTER);
+		sessionCode = context.getBean(SessionService.class).createSession(FIRST_SUBMITTER).getSessionCode();
+		restaurantSvc = context.getBean(RestaurantService.class);
+		for (int from = 0; from < restaurants; from += SUBMIT_BATCH) {
+			List<String> names = new ArrayList<>();
+			for (int i = from; i < Math.min(from + SUBMIT_BATCH, restaurants); i++) {
+				names.add("Restaurant " + i);
+			}
+			restaurantSvc.submitRestaurants(sessionCode, names, FIRST_SUBMITTER);
+		}
+		sessionId = context.jdbc().queryForObject("select id from sessions where session_code = ?", Long.class, sessionCode);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	// a draw locks the session, so it is reopened before each one, outside the measured time
+	@State(Scope.Thread)
+	public static class OpenSession {
+
+		@Setup(Level.Invocation)
+		public void reopen(RestaurantDrawDatabaseBenchmark benchmark) {
+			benchmark.context.jdbc().update("update sessions set status = 'ACTIVE', locked_at = null, "
+					+ "random_restaurant_id = null where id = ?", benchmark.sessionId);
+		}
+
+	}
+
+	@Benchmark
+	public Restaurant getRandomRestaurant(OpenSession open) {
+		return restaurantSvc.getRandomRestaurant(sessionCode);
+	}
+
+	@Benchmark
+	public boolean canRequestRandom() {
+		return restaurantSvc.canRequestRandom(sessionCode, FIRST_SUBMITTER);
+	}
+
+}
@@ -0,0 +1,81 @@
+package com.eatwhat.backend.service;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.eatwhat.backend.benchmark.InMemoryRepository;
+import com.eatwhat.backend.benchmark.NoOpTransactionManager;
+import com.eatwhat.backend.repository.SessionCodeCounterRepository;
+
+/**
+ * Session code generation: the cipher alone, and the allocator that leases
+ * blocks of sequence numbers from the counter row. With a block size of 1 every
+ * code pays for a lease.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionCodeBenchmark {
+
+	private SessionCodeCipher cipher;
+	private long sequence;
+
+	@Setup
+	public void setUp() {
+		cipher = new SessionCodeCipher("eat-what");
+	}
+
+	@State(Scope.Benchmark)
+	public static class Allocator {
+
+		@Param({ "1", "1000" })
+		public int blockSize;
+
+		private SessionCodeAllocator allocator;
+		private long counter;
+
+		@Setup
+		public void setUp() {
+			SessionCodeCounterRepository counterRepo = InMemoryRepository.of(SessionCodeCounterRepository.class, Map.of(
+					"advance", args -> {
+						counter += (Long) args[1];
+						return 1;
+					},
+					"findNextValueById", args -> counter));
+			allocator = new SessionCodeAllocator();
+			ReflectionTestUtils.setField(allocator, "counterRepo", counterRepo);
+			ReflectionTestUtils.setField(allocator, "transactionManager", new NoOpTransactionManager());
+			ReflectionTestUtils.setField(allocator, "blockSize", blockSize);
+			ReflectionTestUtils.setField(allocator, "secret", "eat-what");
+			allocator.init();
+		}
+
+	}
+
+	@Benchmark
+	public String encode() {
+		return cipher.encode(sequence++);
+	}
+
+	@Benchmark
+	public String nextCode(Allocator state) {
+		return state.allocator.nextCode();
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.eatwhat.backend.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.eatwhat.backend.benchmark.DatabaseBenchmarkContext;
+import com.eatwhat.backend.model.Session;
+
+/**
+ * Session creation against MySQL with an empty sessions table and with a
+ * million existing rows. Codes come from the leased block, so creating one is a
+ * user read and an insert at either size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionCreationDatabaseBenchmark {
+
+	private static final String INITIATOR = "ruschin.chin";
+	private static final int SEED_CHUNK = 100_000;
+
+	private static final String DIGITS = IntStream.range(0, 10)
+			.mapToObj(d -> "select " + d + " d")
+			.collect(Collectors.joining(" union all "));
+
+	// 0 to 99999 from five cross-joined digit tables
+	private static final String NUMBERS = "select d0.d + 10 * d1.d + 100 * d2.d + 1000 * d3.d + 10000 * d4.d n from "
+			+ IntStream.range(0, 5).mapToObj(i -> "(" + DIGITS + ") d" + i).collect(Collectors.joining(", "));
+
+	// old style 6 character hex codes, which the 7 character allocated codes never collide with
+	private static final String SEED = "insert into sessions (session_code, initiator_id, status, created_at, locked_at, version) "
+			+ "select lower(lpad(hex(? + n), 6, '0')), ?, 'LOCKED', now(6), now(6), 1 from (" + NUMBERS + ") numbers where n < ?";
+
+	@Param({ "0", "1000000" })
+	public int existingSessions;
+
+	private DatabaseBenchmarkContext context;
+	private SessionService sessionSvc;
+
+	@Setup
+	public void setUp() {
+		context = DatabaseBenchmarkContext.start();
+		context.createUser(INITIATOR);
+		long initiatorId = context.jdbc().queryForObject("select id from users where username = ?", Long.class, INITIATOR);
+		for (int from = 0; from < existingSessions; from += SEED_CHUNK) {
+			context.jdbc().update(SEED, from, initiatorId, Math.min(SEED_CHUNK, existingSessions - from));
+		}
+		sessionSvc = context.getBean(SessionService.class);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Session createSession() {
+		return sessionSvc.createSession(INITIATOR);
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.eatwhat.backend.batch;
+
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.Step;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.infrastructure.support.transaction.ResourcelessTransactionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SessionArchiveConfig {
+
+    @Value("${app.archive.chunk-size:200}")
+    private int chunkSize;
+
+    @Bean
+    public Job archiveSessionsJob(JobRepository jobRepo, Step archiveSessionsStep, SessionArchiveProgress progress) {
+        return new JobBuilder("archiveSessionsJob", jobRepo)
+            .start(archiveSessionsStep)
+            .listener(progress)
+            .build();
+    }
+
+    // the writer commits each chunk itself; the step's own transaction would only hold a connection through the pause
+    @Bean
+    public Step archiveSessionsStep(JobRepository jobRepository, SessionArchiveReader reader,
+                                    SessionArchiveWriter writer, SessionArchiveProgress progress) {
+        return new StepBuilder("archiveSessionsStep", jobRepository)
+            .<Long, Long>chunk(chunkSize)
+            .transactionManager(new ResourcelessTransactionManager())
+            .reader(reader)
+            .writer(writer)
+            .listener(progress)
+            .build();
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.eatwhat.backend.batch;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Which sessions the archive job moves: locked longer than app.archive.locked-ttl,
+ * or still open with nothing submitted for app.archive.idle-ttl. The reader pages
+ * by it and the writer checks it again under lock, so a session that woke up in
+ * between stays.
+ */
+@Component
+public class SessionArchiveCriteria {
+
+    static final String ELIGIBLE = "((s.status = 'LOCKED' and s.locked_at < :lockedBefore) "
+            + "or (s.status = 'ACTIVE' and s.created_at < :idleBefore and not exists "
+            + "(select 1 from restaurants r where r.session_id = s.id and r.submitted_at >= :idleBefore)))";
+
+    @Value("${app.archive.locked-ttl:7d}")
+    private Duration lockedTtl;
+
+    @Value("${app.archive.idle-ttl:30d}")
+    private Duration idleTtl;
+
+    MapSqlParameterSource parameters() {
+        LocalDateTime now = LocalDateTime.now();
+        return new MapSqlParameterSource()
+                .addValue("lockedBefore", now.minus(lockedTtl))
+                .addValue("idleBefore", now.minus(idleTtl));
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.eatwhat.backend.batch;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.job.JobExecution;
+import org.springframework.batch.core.listener.ChunkListener;
+import org.springframework.batch.core.listener.JobExecutionListener;
+import org.springframework.batch.infrastructure.item.Chunk;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Paces the archive job and reports its throughput. After every chunk the job
+ * sleeps app.archive.pause-ratio times as long as the chunk took, so it never
+ * holds more than its share of the database however slow it gets under load.
+ * Rows moved per second are logged per run and published as a gauge.
+ */
+@Component
+public class SessionArchiveProgress implements ChunkListener<Long, Long>, JobExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionArchiveProgress.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.archive.pause-ratio:3}")
+    private double pauseRatio;
+
+    private final AtomicLong sessionsMoved = new AtomicLong();
+    private final AtomicLong restaurantsMoved = new AtomicLong();
+    private volatile double rowsPerSecond;
+    private Counter sessionRows;
+    private Counter restaurantRows;
+    private long runStart;
+    private long workStart;
+
+    @PostConstruct
+    public void init() {
+        sessionRows = meterRegistry.counter("sessions.archive.rows", "table", "sessions");
+        restaurantRows = meterRegistry.counter("sessions.archive.rows", "table", "restaurants");
+        meterRegistry.gauge("sessions.archive.rows.per.second", this, progress -> progress.rowsPerSecond);
+    }
+
+    void moved(int sessions, int restaurants) {
+        sessionsMoved.addAndGet(sessions);
+        restaurantsMoved.addAndGet(restaurants);
+        sessionRows.increment(sessions);
+        restaurantRows.increment(restaurants);
+    }
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+        sessionsMoved.set(0);
+        restaurantsMoved.set(0);
+        runStart = System.nanoTime();
+        workStart = runStart;
+    }
+
+    // the step runs without a surrounding transaction, so nothing is held while sleeping
+    @Override
+    public void afterChunk(Chunk<Long> chunk) {
+        long worked = System.nanoTime() - workStart;
+        try {
+            TimeUnit.NANOSECONDS.sleep((long) (worked * pauseRatio));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workStart = System.nanoTime();
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        double seconds = Math.max((System.nanoTime() - runStart) / 1e9, 0.001);
+        long rows = sessionsMoved.get() + restaurantsMoved.get();
+        rowsPerSecond = rows / seconds;
+        logger.info("Session archive {}: moved {} sessions and {} restaurants in {} s ({} rows/s)",
+                jobExecution.getStatus(), sessionsMoved.get(), restaurantsMoved.get(),
+                String.format("%.1f", seconds), String.format("%.1f", rowsPerSecond));
+    }
+
+}
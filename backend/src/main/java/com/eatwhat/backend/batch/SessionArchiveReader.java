@@ -0,0 +1,60 @@
+package com.eatwhat.backend.batch;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.springframework.batch.infrastructure.item.ExecutionContext;
+import org.springframework.batch.infrastructure.item.ItemStreamReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ids of sessions to archive in ascending order, read a page at a time by keyset
+ * on the primary key so every page is an index range scan however far the run is.
+ */
+@Component
+public class SessionArchiveReader implements ItemStreamReader<Long> {
+
+    private static final String FIND_ELIGIBLE = "select s.id from sessions s where s.id > :afterId and "
+            + SessionArchiveCriteria.ELIGIBLE + " order by s.id limit :limit";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SessionArchiveCriteria criteria;
+
+    @Value("${app.archive.chunk-size:200}")
+    private int pageSize;
+
+    private final Deque<Long> page = new ArrayDeque<>();
+    private MapSqlParameterSource parameters;
+    private long afterId;
+    private boolean exhausted;
+
+    // cutoffs are fixed for the run, so a long run does not chase sessions that only just went idle
+    @Override
+    public void open(ExecutionContext executionContext) {
+        page.clear();
+        parameters = criteria.parameters();
+        afterId = 0;
+        exhausted = false;
+    }
+
+    @Override
+    public Long read() {
+        if (page.isEmpty() && !exhausted) {
+            page.addAll(jdbcTemplate.queryForList(FIND_ELIGIBLE,
+                    parameters.addValue("afterId", afterId).addValue("limit", pageSize), Long.class));
+            exhausted = page.size() < pageSize;
+            if (!page.isEmpty()) {
+                afterId = page.peekLast();
+            }
+        }
+        return page.poll();
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.eatwhat.backend.batch;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.parameters.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// starts the archive job off-peak on its own thread, keeping the scheduler free; a run still going when the next is due is left to finish
+@Component
+public class SessionArchiveScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionArchiveScheduler.class);
+
+    @Autowired
+    private JobOperator jobOperator;
+
+    @Autowired
+    @Qualifier("archiveSessionsJob")
+    private Job archiveSessionsJob;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Scheduled(cron = "${app.archive.cron:0 0 4 * * *}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Session archive is still running, skipping this run");
+            return;
+        }
+        Thread.Builder thread = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        thread.name("session-archive").start(() -> {
+            try {
+                jobOperator.start(archiveSessionsJob, new JobParametersBuilder()
+                        .addLong("startedAt", System.currentTimeMillis())
+                        .toJobParameters());
+            } catch (Exception e) {
+                logger.error("Could not run session archive", e);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+}
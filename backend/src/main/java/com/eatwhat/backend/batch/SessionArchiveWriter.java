@@ -0,0 +1,114 @@
+package com.eatwhat.backend.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.batch.infrastructure.item.Chunk;
+import org.springframework.batch.infrastructure.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eatwhat.backend.event.SessionsArchivedEvent;
+import com.eatwhat.backend.service.HotSessionEngine;
+import com.eatwhat.backend.service.VoteService;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Moves one chunk of sessions to the archive tables in its own transaction. The
+ * sessions are locked and checked again first; everything hanging off them is then
+ * copied with insert-select and deleted child tables first, so the transaction
+ * touches only rows of the sessions in the chunk. Sessions still held in memory
+ * by the hot-session engine or with unflushed votes are left for a later run.
+ */
+@Component
+public class SessionArchiveWriter implements ItemWriter<Long> {
+
+    private static final String LOCK_ELIGIBLE = "select s.id, s.session_code from sessions s where s.id in (:ids) and "
+            + SessionArchiveCriteria.ELIGIBLE + " for update";
+
+    private static final String ARCHIVE_SESSIONS = "insert into sessions_archive "
+            + "(id, session_code, initiator_id, status, created_at, locked_at, random_restaurant_id, archived_at) "
+            + "select id, session_code, initiator_id, status, created_at, locked_at, random_restaurant_id, current_timestamp "
+            + "from sessions where id in (:ids)";
+
+    private static final String ARCHIVE_RESTAURANTS = "insert into restaurants_archive "
+            + "(id, session_id, restaurant_name, submitted_by, submitted_at, weight, submitter_count, vote_count, archived_at) "
+            + "select id, session_id, restaurant_name, submitted_by, submitted_at, weight, submitter_count, vote_count, "
+            + "current_timestamp from restaurants where session_id in (:ids)";
+
+    // the drawn restaurant points back into restaurants, so it is cleared before they go
+    private static final List<String> DELETES = List.of(
+            "update sessions set random_restaurant_id = null where id in (:ids)",
+            "delete from restaurant_votes where session_id in (:ids)",
+            "delete from restaurant_submitters where session_id in (:ids)",
+            "delete from restaurant_tombstones where session_id in (:ids)",
+            "delete from restaurants where session_id in (:ids)",
+            "delete from sessions where id in (:ids)");
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SessionArchiveCriteria criteria;
+
+    @Autowired
+    private SessionArchiveProgress progress;
+
+    @Autowired
+    private HotSessionEngine hotSessions;
+
+    @Autowired
+    private VoteService voteSvc;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate txTemplate;
+
+    @PostConstruct
+    public void init() {
+        txTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void write(Chunk<? extends Long> chunk) {
+        List<String> archived = txTemplate.execute(status -> {
+            List<Long> ids = new ArrayList<>();
+            List<String> sessionCodes = new ArrayList<>();
+            jdbcTemplate.query(LOCK_ELIGIBLE, criteria.parameters().addValue("ids", chunk.getItems()), row -> {
+                String sessionCode = row.getString("session_code");
+                // their queued writes would land on deleted rows
+                if (hotSessions.isHot(sessionCode) || voteSvc.hasPendingVotes(sessionCode)) {
+                    return;
+                }
+                ids.add(row.getLong("id"));
+                sessionCodes.add(sessionCode);
+            });
+            if (ids.isEmpty()) {
+                return sessionCodes;
+            }
+
+            MapSqlParameterSource parameters = new MapSqlParameterSource("ids", ids);
+            int sessions = jdbcTemplate.update(ARCHIVE_SESSIONS, parameters);
+            int restaurants = jdbcTemplate.update(ARCHIVE_RESTAURANTS, parameters);
+            for (String delete : DELETES) {
+                jdbcTemplate.update(delete, parameters);
+            }
+            progress.moved(sessions, restaurants);
+            return sessionCodes;
+        });
+        if (archived != null && !archived.isEmpty()) {
+            eventPublisher.publishEvent(new SessionsArchivedEvent(archived));
+        }
+    }
+
+}
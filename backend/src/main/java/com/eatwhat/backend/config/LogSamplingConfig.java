@@ -0,0 +1,25 @@
+package com.eatwhat.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Samples the success-path logging of each endpoint when
+ * app.logging.success-sample-every is above 1, as it is in the prod profile.
+ */
+@Configuration
+@ConditionalOnExpression("${app.logging.success-sample-every:1} > 1")
+public class LogSamplingConfig implements WebMvcConfigurer {
+
+    @Value("${app.logging.success-sample-every:1}")
+    private long sampleEvery;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SuccessLogSampler(sampleEvery));
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.eatwhat.backend.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * The read-only side of the routing: the replica, or the primary while the
+ * current thread is pinned to it.
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Boolean> PINNED = ThreadLocal.withInitial(() -> false);
+
+    ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of("primary", primary, "replica", replica));
+        setDefaultTargetDataSource(replica);
+        afterPropertiesSet();
+    }
+
+    static void pin() {
+        PINNED.set(true);
+    }
+
+    static void unpin() {
+        PINNED.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return PINNED.get() ? "primary" : "replica";
+    }
+
+}
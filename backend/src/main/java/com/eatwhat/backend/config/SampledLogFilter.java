@@ -0,0 +1,38 @@
+package com.eatwhat.backend.config;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Drops the application's events below WARN on a request thread that
+ * {@link SuccessLogSampler} left out of the sample; framework lines such as slow
+ * query reports pass. Runs before the message is formatted, so a dropped line
+ * costs a thread-local read. Installed by the prod profile in logback-spring.xml.
+ */
+public class SampledLogFilter extends TurboFilter {
+
+    private static final String APP_LOGGERS = "com.eatwhat.backend.";
+
+    private static final ThreadLocal<Boolean> UNSAMPLED = ThreadLocal.withInitial(() -> false);
+
+    static void unsampled() {
+        UNSAMPLED.set(true);
+    }
+
+    static void clear() {
+        UNSAMPLED.remove();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (UNSAMPLED.get() && !level.isGreaterOrEqual(Level.WARN) && logger.getName().startsWith(APP_LOGGERS)) {
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+}
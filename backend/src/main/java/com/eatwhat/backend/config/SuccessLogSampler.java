@@ -0,0 +1,50 @@
+package com.eatwhat.backend.config;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps the INFO and DEBUG lines of one request in every sampleEvery per endpoint,
+ * counted separately for each handler method so quiet endpoints are not drowned
+ * out by polled ones. A request is kept or dropped as a whole, its warnings and
+ * errors are always logged.
+ */
+class SuccessLogSampler implements AsyncHandlerInterceptor {
+
+    private final long sampleEvery;
+    private final Map<Method, AtomicLong> requests = new ConcurrentHashMap<>();
+
+    SuccessLogSampler(long sampleEvery) {
+        this.sampleEvery = sampleEvery;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            long n = requests.computeIfAbsent(method.getMethod(), key -> new AtomicLong()).getAndIncrement();
+            if (n % sampleEvery != 0) {
+                SampledLogFilter.unsampled();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SampledLogFilter.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SampledLogFilter.clear();
+    }
+
+}
@@ -1,11 +1,14 @@
 package com.eatwhat.backend.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,23 +16,45 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.eatwhat.backend.dto.ApiResponse;
+import com.eatwhat.backend.dto.RestaurantBatchSubmitRequest;
+import com.eatwhat.backend.dto.RestaurantChangesResponse;
+import com.eatwhat.backend.dto.RestaurantPageResponse;
 import com.eatwhat.backend.dto.RestaurantSubmitRequest;
+import com.eatwhat.backend.dto.VoteTallyResponse;
 import com.eatwhat.backend.model.Restaurant;
 import com.eatwhat.backend.service.RestaurantService;
+import com.eatwhat.backend.service.SessionService;
+import com.eatwhat.backend.service.VoteService;
+
+import tools.jackson.databind.json.JsonMapper;
 
 @RestController
 @RequestMapping("/api/v1/sessions/{sessionCode}/restaurants")
-@CrossOrigin(origins = "http://localhost:3000") // for react frontend
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true") // for react frontend
 public class RestaurantController {
     
     private static final Logger logger = LoggerFactory.getLogger(RestaurantController.class);
+
+    private static final String NDJSON_VALUE = "application/x-ndjson";
     
     @Autowired
     private RestaurantService restaurantSvc;
 
+    @Autowired
+    private SessionService sessionSvc;
+
+    @Autowired
+    private VoteService voteSvc;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
     @PostMapping
     public ResponseEntity<ApiResponse<Restaurant>> addRestaurant
         (@PathVariable String sessionCode, @RequestBody RestaurantSubmitRequest request) {
@@ -37,8 +62,9 @@ public class RestaurantController {
             logger.info("Submitting restaurant: sessionCode={}, restaurantName={}, submittedBy={}", 
                        sessionCode, request.getRestaurantName(), request.getSubmittedBy());
             try{
+                int weight = request.getWeight() == null ? Restaurant.DEFAULT_WEIGHT : request.getWeight();
                 Restaurant restaurant = restaurantSvc.submitRestaurant(
-                    sessionCode, request.getRestaurantName(), request.getSubmittedBy());
+                    sessionCode, request.getRestaurantName(), request.getSubmittedBy(), weight);
                 logger.info("Restaurant submitted successfully: {}", restaurant.getId());
                 return ResponseEntity.ok(ApiResponse.success(restaurant, "Restaurant submitted successfully"));
             } catch (IllegalArgumentException e) {
@@ -51,13 +77,42 @@ public class RestaurantController {
             }
         }
     
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<Restaurant>>> addRestaurants
+        (@PathVariable String sessionCode, @RequestBody RestaurantBatchSubmitRequest request) {
+
+            int size = request.getRestaurantNames() == null ? 0 : request.getRestaurantNames().size();
+            logger.info("Submitting restaurant batch: sessionCode={}, count={}, submittedBy={}",
+                       sessionCode, size, request.getSubmittedBy());
+            try{
+                List<Restaurant> restaurants = restaurantSvc.submitRestaurants(
+                    sessionCode, request.getRestaurantNames(), request.getSubmittedBy());
+                logger.info("Restaurant batch submitted successfully: sessionCode={}, count={}", sessionCode, restaurants.size());
+                return ResponseEntity.ok(ApiResponse.success(restaurants, "Restaurants submitted successfully"));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid restaurant batch submission: sessionCode={}, error={}", sessionCode, e.getMessage());
+                return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage(), 400));
+            } catch (Exception e) {
+                logger.error("Error submitting restaurant batch: sessionCode={}", sessionCode, e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error submitting restaurants: " + e.getMessage(), 500));
+            }
+        }
+
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Restaurant>>> getRestaurants(@PathVariable String sessionCode) {
+    public ResponseEntity<ApiResponse<List<Restaurant>>> getRestaurants(@PathVariable String sessionCode,
+                                                                       WebRequest webRequest) {
         logger.info("Retrieving restaurants for session: {}", sessionCode);
         try{
+            String eTag = sessionSvc.getSessionETag(sessionCode);
+            if (eTag != null && webRequest.checkNotModified(eTag)) {
+                logger.info("Restaurants not modified for session: {}", sessionCode);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+
             List<Restaurant> restaurants = restaurantSvc.getRestaurantsBySession(sessionCode);
             logger.info("Retrieved {} restaurants for session: {}", restaurants.size(), sessionCode);
-            return ResponseEntity.ok(ApiResponse.success(restaurants));
+            return ResponseEntity.ok().eTag(eTag).body(ApiResponse.success(restaurants));
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid session for restaurant retrieval: sessionCode={}, error={}", sessionCode, e.getMessage());
             return ResponseEntity.badRequest().body(ApiResponse.error("Error: " + e.getMessage(), 400));
@@ -68,17 +123,92 @@ public class RestaurantController {
         }
     }
 
+    // delta sync: only what was added or removed after the client's last known session version
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse<RestaurantChangesResponse>> getRestaurantChanges(
+        @PathVariable String sessionCode, @RequestParam(defaultValue = "-1") long sinceVersion) {
+            logger.info("Retrieving restaurant changes: sessionCode={}, sinceVersion={}", sessionCode, sinceVersion);
+            try {
+                RestaurantChangesResponse changes = restaurantSvc.getRestaurantChanges(sessionCode, sinceVersion);
+                logger.info("Restaurant changes for session {}: version={}, changed={}",
+                           sessionCode, changes.getVersion(), changes.isChanged());
+                return ResponseEntity.ok(ApiResponse.success(changes));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid session for restaurant changes: sessionCode={}, error={}", sessionCode, e.getMessage());
+                return ResponseEntity.badRequest().body(ApiResponse.error("Error: " + e.getMessage(), 400));
+            } catch (Exception e) {
+                logger.error("Error retrieving restaurant changes for session: {}", sessionCode, e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error retrieving restaurant changes: " + e.getMessage(), 500));
+            }
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<RestaurantPageResponse>> getRestaurantPage(@PathVariable String sessionCode,
+            @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "50") int limit) {
+        logger.info("Retrieving restaurant page: sessionCode={}, cursor={}, limit={}", sessionCode, cursor, limit);
+        try {
+            RestaurantPageResponse page = restaurantSvc.getRestaurantPage(sessionCode, cursor, limit);
+            logger.info("Retrieved {} restaurants for session: {}, hasMore={}",
+                       page.getRestaurants().size(), sessionCode, page.isHasMore());
+            return ResponseEntity.ok(ApiResponse.success(page));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid restaurant page request: sessionCode={}, error={}", sessionCode, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error: " + e.getMessage(), 400));
+        } catch (Exception e) {
+            logger.error("Error retrieving restaurant page for session: {}", sessionCode, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Error retrieving restaurant page: " + e.getMessage(), 500));
+        }
+    }
+
+    // one JSON object per line, written while rows are still being read
+    @GetMapping(path = "/stream", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamRestaurants(@PathVariable String sessionCode) {
+        logger.info("Streaming restaurants for session: {}", sessionCode);
+        if (!sessionSvc.sessionExists(sessionCode)) {
+            logger.warn("Session not found for restaurant stream: {}", sessionCode);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        StreamingResponseBody body = out -> {
+            try {
+                restaurantSvc.forEachRestaurant(sessionCode, row -> {
+                    try {
+                        out.write(jsonMapper.writeValueAsBytes(row));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // client went away mid-stream
+                logger.debug("Restaurant stream for session {} aborted: {}", sessionCode, e.getMessage());
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
+    }
+
     @GetMapping("/random")
-    public ResponseEntity<ApiResponse<Restaurant>> getRandomRestaurant(@PathVariable String sessionCode) {
-        logger.info("Getting random restaurant for session: {}", sessionCode);
+    public ResponseEntity<ApiResponse<Restaurant>> getRandomRestaurant(@PathVariable String sessionCode,
+                                                                       @RequestParam(defaultValue = "random") String mode) {
+        logger.info("Getting random restaurant for session: {}, mode={}", sessionCode, mode);
         try{
-            Restaurant randomRestaurant = restaurantSvc.getRandomRestaurant(sessionCode);
+            Restaurant randomRestaurant = switch (mode) {
+                case "random" -> restaurantSvc.getRandomRestaurant(sessionCode);
+                case "top" -> restaurantSvc.getTopVotedRestaurant(sessionCode);
+                case "weighted" -> restaurantSvc.getWeightedRestaurant(sessionCode);
+                default -> throw new IllegalArgumentException("Unknown draw mode: " + mode);
+            };
             logger.info("Random restaurant selected: sessionCode={}, restaurantId={}", 
                        sessionCode, randomRestaurant.getId());
             return ResponseEntity.ok(ApiResponse.success(randomRestaurant, "Random restaurant selected"));
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid session for random restaurant: sessionCode={}, error={}", sessionCode, e.getMessage());
             return ResponseEntity.badRequest().body(ApiResponse.error("Error: " + e.getMessage(), 400));
+        } catch (IllegalStateException e) {
+            logger.warn("Random restaurant not drawn: sessionCode={}, error={}", sessionCode, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error("Error: " + e.getMessage(), 409));
         } catch (Exception e) {
             logger.error("Error retrieving random restaurant for session: {}", sessionCode, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -86,15 +216,81 @@ public class RestaurantController {
         }
     }
 
+    @GetMapping("/random/preview")
+    public ResponseEntity<ApiResponse<Restaurant>> previewRandomRestaurant(@PathVariable String sessionCode) {
+        logger.info("Previewing weighted draw for session: {}", sessionCode);
+        try {
+            Restaurant restaurant = restaurantSvc.previewWeightedRestaurant(sessionCode);
+            return ResponseEntity.ok(ApiResponse.success(restaurant, "Preview draw, session not locked"));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid session for preview draw: sessionCode={}, error={}", sessionCode, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error: " + e.getMessage(), 400));
+        } catch (IllegalStateException e) {
+            logger.warn("Preview draw not possible: sessionCode={}, error={}", sessionCode, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error("Error: " + e.getMessage(), 409));
+        } catch (Exception e) {
+            logger.error("Error previewing draw for session: {}", sessionCode, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Error previewing draw: " + e.getMessage(), 500));
+        }
+    }
+
+    @PostMapping("/{restaurantId}/votes")
+    public ResponseEntity<ApiResponse<VoteTallyResponse>> vote(
+        @PathVariable String sessionCode,
+        @PathVariable Long restaurantId,
+        @RequestBody VoteRequest request) {
+            logger.info("Voting: sessionCode={}, restaurantId={}, username={}",
+                       sessionCode, restaurantId, request.getUsername());
+            try {
+                VoteTallyResponse tally = voteSvc.vote(sessionCode, restaurantId, request.getUsername());
+                return ResponseEntity.ok(ApiResponse.success(tally, "Vote recorded"));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid vote: sessionCode={}, restaurantId={}, error={}", sessionCode, restaurantId, e.getMessage());
+                return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage(), 400));
+            } catch (IllegalStateException e) {
+                logger.warn("Vote rejected: sessionCode={}, restaurantId={}, error={}", sessionCode, restaurantId, e.getMessage());
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage(), 409));
+            } catch (Exception e) {
+                logger.error("Error voting: sessionCode={}, restaurantId={}", sessionCode, restaurantId, e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error voting: " + e.getMessage(), 500));
+            }
+    }
+
+    @GetMapping("/votes")
+    public ResponseEntity<ApiResponse<List<VoteTallyResponse>>> getVotes(@PathVariable String sessionCode,
+                                                                       @RequestParam(required = false) String user) {
+        logger.info("Getting vote tallies for session: {}", sessionCode);
+        try {
+            List<VoteTallyResponse> tallies = voteSvc.getTallies(sessionCode, user);
+            return ResponseEntity.ok(ApiResponse.success(tallies));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid session for vote tallies: sessionCode={}, error={}", sessionCode, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error: " + e.getMessage(), 400));
+        } catch (Exception e) {
+            logger.error("Error getting vote tallies for session: {}", sessionCode, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error getting vote tallies: " + e.getMessage(), 500));
+        }
+    }
+
     @GetMapping("/count")
-    public ResponseEntity<ApiResponse<RestaurantCountResponse>> getRestaurantCount(@PathVariable String sessionCode) {
+    public ResponseEntity<ApiResponse<RestaurantCountResponse>> getRestaurantCount(@PathVariable String sessionCode,
+                                                                                WebRequest webRequest) {
         logger.info("Getting restaurant count for session: {}", sessionCode);
         try {
+            String eTag = sessionSvc.getSessionETag(sessionCode);
+            if (eTag != null && webRequest.checkNotModified(eTag)) {
+                logger.info("Restaurant count not modified for session: {}", sessionCode);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+
             long count = restaurantSvc.getRestaurantCount(sessionCode);
             logger.info("Restaurant count for session {}: {}", sessionCode, count);
             
             RestaurantCountResponse response = new RestaurantCountResponse(count);
-            return ResponseEntity.ok(ApiResponse.success(response));
+            return ResponseEntity.ok().eTag(eTag).body(ApiResponse.success(response));
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid session for count retrieval: sessionCode={}, error={}", sessionCode, e.getMessage());
             return ResponseEntity.badRequest().body(ApiResponse.error("Error: " + e.getMessage(), 400));
@@ -201,4 +397,22 @@ public class RestaurantController {
         }
     }
 
-}
\ No newline at end of file
+    public static class VoteRequest {
+        private String username;
+
+        public VoteRequest() {}
+
+        public VoteRequest(String username) {
+            this.username = username;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.eatwhat.backend.controller;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.eatwhat.backend.dto.ApiResponse;
+import com.eatwhat.backend.service.RestaurantSuggestionService;
+
+@RestController
+@RequestMapping("/api/v1/restaurants")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true") // for react frontend
+public class RestaurantSuggestionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantSuggestionController.class);
+
+    @Autowired
+    private RestaurantSuggestionService suggestionSvc;
+
+    // called on every keystroke, so only failures are logged
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<String>>> suggest(@RequestParam String prefix,
+                                                             @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(suggestionSvc.suggest(prefix, limit)));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid suggestion request: prefix={}, error={}", prefix, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error: " + e.getMessage(), 400));
+        } catch (Exception e) {
+            logger.error("Error suggesting restaurant names: prefix={}", prefix, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error suggesting restaurant names: " + e.getMessage(), 500));
+        }
+    }
+
+}
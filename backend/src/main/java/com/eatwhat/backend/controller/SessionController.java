@@ -1,11 +1,13 @@
 package com.eatwhat.backend.controller;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,18 +16,24 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.util.UriUtils;
 
 import com.eatwhat.backend.dto.ApiResponse;
 import com.eatwhat.backend.dto.SessionCreateRequest;
+import com.eatwhat.backend.dto.SessionSnapshotResponse;
 import com.eatwhat.backend.model.Session;
+import com.eatwhat.backend.service.SessionEventBroadcaster;
 import com.eatwhat.backend.service.SessionService;
 
 import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/api/v1/sessions")
-@CrossOrigin(origins = "http://localhost:3000") // for react frontend
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true") // for react frontend
 public class SessionController {
 
     private static final Logger logger = LoggerFactory.getLogger(SessionController.class);
@@ -33,6 +41,9 @@ public class SessionController {
     @Autowired
     private SessionService sessionSvc;
 
+    @Autowired
+    private SessionEventBroadcaster eventBroadcaster;
+
     @PostMapping
     public ResponseEntity<ApiResponse<Session>> createSession(@Valid @RequestBody SessionCreateRequest request) {
         logger.info("Creating session for user: {}", request.getUsername());
@@ -48,13 +59,19 @@ public class SessionController {
     }
 
     @GetMapping("/{sessionCode}")
-    public ResponseEntity<ApiResponse<Session>> getSession(@PathVariable String sessionCode) {
+    public ResponseEntity<ApiResponse<Session>> getSession(@PathVariable String sessionCode, WebRequest webRequest) {
         logger.info("Retrieving session: {}", sessionCode);
         try{
+            String eTag = sessionSvc.getSessionETag(sessionCode);
+            if (eTag != null && webRequest.checkNotModified(eTag)) {
+                logger.info("Session not modified: {}", sessionCode);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+
             Optional<Session> sessionOpt = sessionSvc.getSessionByCode(sessionCode);
             if(sessionOpt.isPresent()){
                 logger.info("Session found: {}", sessionCode);
-                return ResponseEntity.ok(ApiResponse.success(sessionOpt.get()));
+                return ResponseEntity.ok().eTag(eTag).body(ApiResponse.success(sessionOpt.get()));
             } else {
                 logger.warn("Session not found: {}", sessionCode);
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -67,6 +84,48 @@ public class SessionController {
         }
     }
 
+    // session, restaurants and draw permission for the page load in one call
+    @GetMapping("/{sessionCode}/snapshot")
+    public ResponseEntity<ApiResponse<SessionSnapshotResponse>> getSessionSnapshot(
+            @PathVariable String sessionCode, @RequestParam(required = false) String user, WebRequest webRequest) {
+        logger.info("Retrieving session snapshot: sessionCode={}, user={}", sessionCode, user);
+        try {
+            String sessionETag = sessionSvc.getSessionETag(sessionCode);
+            if (sessionETag == null) {
+                logger.warn("Session not found for snapshot: {}", sessionCode);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.notFound("Session not found"));
+            }
+            String eTag = snapshotETag(sessionETag, user);
+            if (webRequest.checkNotModified(eTag)) {
+                logger.info("Session snapshot not modified: {}", sessionCode);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+
+            SessionSnapshotResponse snapshot = sessionSvc.getSessionSnapshot(sessionCode, user);
+            logger.info("Session snapshot retrieved: sessionCode={}, restaurants={}, locked={}",
+                       sessionCode, snapshot.getRestaurantCount(), snapshot.isLocked());
+            return ResponseEntity.ok().eTag(eTag).body(ApiResponse.success(snapshot));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Session not found for snapshot: sessionCode={}, error={}", sessionCode, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.notFound("Session not found"));
+        } catch (Exception e) {
+            logger.error("Error retrieving session snapshot: {}", sessionCode, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error retrieving session snapshot: " + e.getMessage(), 500));
+        }
+    }
+
+    // canRequestRandom depends on the user, so one user's validator must not match another's body;
+    // percent-encoding keeps any username inside the characters an entity-tag allows
+    private static String snapshotETag(String sessionETag, String user) {
+        if (user == null) {
+            return sessionETag;
+        }
+        return sessionETag.substring(0, sessionETag.length() - 1) + ";u=" + UriUtils.encode(user, StandardCharsets.UTF_8) + "\"";
+    }
+
     @PutMapping("/{sessionCode}/lock")
     public ResponseEntity<ApiResponse<SessionStatusResponse>> lockSession(@PathVariable String sessionCode) {
         logger.info("Locking session: {}", sessionCode);
@@ -83,6 +142,17 @@ public class SessionController {
         }
     }
 
+    // live restaurant-added, restaurant-deleted and session-locked events for one session
+    @GetMapping(path = "/{sessionCode}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSessionEvents(@PathVariable String sessionCode) {
+        logger.info("Subscribing to session events: {}", sessionCode);
+        if (!sessionSvc.sessionExists(sessionCode)) {
+            logger.warn("Session not found for event subscription: {}", sessionCode);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(eventBroadcaster.subscribe(sessionCode));
+    }
+
     public static class SessionStatusResponse {
         private String sessionCode;
         private boolean locked;
@@ -0,0 +1,48 @@
+package com.eatwhat.backend.controller;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.eatwhat.backend.dto.ApiResponse;
+import com.eatwhat.backend.dto.TrendingRestaurantResponse;
+import com.eatwhat.backend.service.TrendingService;
+
+@RestController
+@RequestMapping("/api/v1/restaurants")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true") // for react frontend
+public class TrendingController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingController.class);
+
+    @Autowired
+    private TrendingService trendingSvc;
+
+    @GetMapping("/trending")
+    public ResponseEntity<ApiResponse<List<TrendingRestaurantResponse>>> getTrending(
+            @RequestParam(defaultValue = TrendingService.PICKS) String metric,
+            @RequestParam(defaultValue = "week") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        logger.info("Getting trending restaurants: metric={}, window={}, limit={}", metric, window, limit);
+        try {
+            return ResponseEntity.ok(ApiResponse.success(trendingSvc.getTrending(metric, window, limit)));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid trending request: metric={}, window={}, error={}", metric, window, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error: " + e.getMessage(), 400));
+        } catch (Exception e) {
+            logger.error("Error getting trending restaurants: metric={}, window={}", metric, window, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Error getting trending restaurants: " + e.getMessage(), 500));
+        }
+    }
+
+}
@@ -20,7 +20,7 @@ import com.eatwhat.backend.service.UserService;
 
 @RestController
 @RequestMapping("/api/v1/users")
-@CrossOrigin(origins = "http://localhost:3000") // for react frontend
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true") // for react frontend
 public class UserController {
     
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
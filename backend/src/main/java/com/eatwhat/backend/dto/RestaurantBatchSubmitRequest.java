@@ -0,0 +1,25 @@
+package com.eatwhat.backend.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class RestaurantBatchSubmitRequest {
+
+    @NotEmpty(message = "At least one restaurant name is required")
+    private List<String> restaurantNames;
+
+    @NotBlank(message = "Submitted by is required")
+    private String submittedBy;
+
+    public RestaurantBatchSubmitRequest(List<String> restaurantNames, String submittedBy) {
+        this.restaurantNames = restaurantNames;
+        this.submittedBy = submittedBy;
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.eatwhat.backend.dto;
+
+import java.util.List;
+
+import com.eatwhat.backend.model.Restaurant;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Restaurants added and removed since a client's last known session version.
+ * When {@code changed} is false the lists are omitted. When {@code full} is true
+ * the client's version was unknown and {@code added} is the complete list.
+ */
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RestaurantChangesResponse {
+
+    private long version;
+    private boolean changed;
+    private boolean full;
+    private List<Restaurant> added;
+    private List<Long> removedIds;
+
+    public RestaurantChangesResponse(long version, boolean changed, boolean full,
+                                     List<Restaurant> added, List<Long> removedIds) {
+        this.version = version;
+        this.changed = changed;
+        this.full = full;
+        this.added = added;
+        this.removedIds = removedIds;
+    }
+
+    public static RestaurantChangesResponse unchanged(long version) {
+        return new RestaurantChangesResponse(version, false, false, null, null);
+    }
+
+    public static RestaurantChangesResponse delta(long version, List<Restaurant> added, List<Long> removedIds) {
+        return new RestaurantChangesResponse(version, true, false, added, removedIds);
+    }
+
+    public static RestaurantChangesResponse full(long version, List<Restaurant> restaurants) {
+        return new RestaurantChangesResponse(version, true, true, restaurants, List.of());
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.eatwhat.backend.dto;
+
+import java.util.List;
+
+import com.eatwhat.backend.model.Restaurant;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * One page of a session's restaurants in submission order. Pass {@code nextCursor}
+ * back as {@code cursor} to continue; it is null on the last page.
+ */
+@Getter
+@Setter
+public class RestaurantPageResponse {
+
+    private List<Restaurant> restaurants;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public RestaurantPageResponse(List<Restaurant> restaurants, String nextCursor) {
+        this.restaurants = restaurants;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+}
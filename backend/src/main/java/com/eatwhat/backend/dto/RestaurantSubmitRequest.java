@@ -1,5 +1,9 @@
 package com.eatwhat.backend.dto;
 
+import com.eatwhat.backend.model.Restaurant;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
 import lombok.Setter;
@@ -14,6 +18,11 @@ public class RestaurantSubmitRequest {
     @NotBlank(message = "Submitted by is required")
     private String submittedBy;
 
+    // optional, 1 when absent
+    @Min(value = Restaurant.DEFAULT_WEIGHT, message = "Weight must be at least 1")
+    @Max(value = Restaurant.MAX_WEIGHT, message = "Weight must be at most 100")
+    private Integer weight;
+
     public RestaurantSubmitRequest(String restaurantName, String submittedBy) {
         this.restaurantName = restaurantName;
         this.submittedBy = submittedBy;
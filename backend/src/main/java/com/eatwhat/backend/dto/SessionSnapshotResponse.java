@@ -0,0 +1,51 @@
+package com.eatwhat.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.eatwhat.backend.model.Restaurant;
+import com.eatwhat.backend.model.Session;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Everything the session page needs on load: status, restaurants, the drawn
+ * restaurant and whether the calling user may draw. {@code version} can be fed
+ * straight into the changes endpoint.
+ */
+@Getter
+@Setter
+public class SessionSnapshotResponse {
+
+    private String sessionCode;
+    private Session.SessionStatus status;
+    private boolean locked;
+    private long version;
+    private String initiator;
+    private LocalDateTime createdAt;
+    private LocalDateTime lockedAt;
+    private List<Restaurant> restaurants;
+    private int restaurantCount;
+    private Restaurant randomRestaurant;
+    private String firstSubmitter;
+    private boolean canRequestRandom;
+
+    public static SessionSnapshotResponse of(Session session, List<Restaurant> restaurants, String username) {
+        SessionSnapshotResponse snapshot = new SessionSnapshotResponse();
+        snapshot.sessionCode = session.getSessionCode();
+        snapshot.status = session.getStatus();
+        snapshot.locked = session.isLocked();
+        snapshot.version = session.getVersion();
+        snapshot.initiator = session.getInitiator().getUsername();
+        snapshot.createdAt = session.getCreatedAt();
+        snapshot.lockedAt = session.getLockedAt();
+        snapshot.restaurants = restaurants;
+        snapshot.restaurantCount = restaurants.size();
+        snapshot.randomRestaurant = session.getRandomRestaurant();
+        snapshot.firstSubmitter = session.getFirstSubmitter();
+        snapshot.canRequestRandom = username != null && username.equals(session.getFirstSubmitter());
+        return snapshot;
+    }
+
+}
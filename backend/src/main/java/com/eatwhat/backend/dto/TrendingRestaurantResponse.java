@@ -0,0 +1,22 @@
+package com.eatwhat.backend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * One trending restaurant name. {@code count} is estimated and may run slightly
+ * high, never low.
+ */
+@Getter
+@Setter
+public class TrendingRestaurantResponse {
+
+    private String restaurantName;
+    private long count;
+
+    public TrendingRestaurantResponse(String restaurantName, long count) {
+        this.restaurantName = restaurantName;
+        this.count = count;
+    }
+
+}
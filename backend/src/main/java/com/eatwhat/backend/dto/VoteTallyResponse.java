@@ -0,0 +1,24 @@
+package com.eatwhat.backend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Live vote count for one restaurant. {@code voted} tells whether the requesting
+ * user has voted for it.
+ */
+@Getter
+@Setter
+public class VoteTallyResponse {
+
+    private Long restaurantId;
+    private long votes;
+    private boolean voted;
+
+    public VoteTallyResponse(Long restaurantId, long votes, boolean voted) {
+        this.restaurantId = restaurantId;
+        this.votes = votes;
+        this.voted = voted;
+    }
+
+}
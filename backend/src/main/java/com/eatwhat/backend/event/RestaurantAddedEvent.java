@@ -0,0 +1,11 @@
+package com.eatwhat.backend.event;
+
+import com.eatwhat.backend.model.Restaurant;
+
+public record RestaurantAddedEvent(String sessionCode, Restaurant restaurant, long version) {
+
+    public RestaurantAddedEvent(String sessionCode, Restaurant restaurant) {
+        this(sessionCode, restaurant, restaurant.getAddedVersion());
+    }
+
+}
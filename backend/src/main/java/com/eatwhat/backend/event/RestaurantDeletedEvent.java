@@ -0,0 +1,4 @@
+package com.eatwhat.backend.event;
+
+public record RestaurantDeletedEvent(String sessionCode, Long restaurantId, long version) {
+}
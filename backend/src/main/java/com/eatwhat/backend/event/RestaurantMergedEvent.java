@@ -0,0 +1,7 @@
+package com.eatwhat.backend.event;
+
+import com.eatwhat.backend.model.Restaurant;
+
+// another participant submitted a name the session already had; restaurant carries the new submitter count
+public record RestaurantMergedEvent(String sessionCode, Restaurant restaurant, long version) {
+}
@@ -0,0 +1,7 @@
+package com.eatwhat.backend.event;
+
+import com.eatwhat.backend.model.Restaurant;
+
+// randomRestaurant is null when the session was locked without a draw
+public record SessionLockedEvent(String sessionCode, Restaurant randomRestaurant, long version) {
+}
@@ -0,0 +1,7 @@
+package com.eatwhat.backend.event;
+
+import java.util.List;
+
+// sessions moved to the archive tables; they no longer exist for the API
+public record SessionsArchivedEvent(List<String> sessionCodes) {
+}
@@ -0,0 +1,4 @@
+package com.eatwhat.backend.event;
+
+public record VoteChangedEvent(String sessionCode, Long restaurantId, long votes) {
+}
@@ -0,0 +1,51 @@
+package com.eatwhat.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// a restaurant of an archived session, keeping its original id; written with insert-select only
+@Entity
+@Table(name = "restaurants_archive", indexes = {
+    @Index(name = "idx_restaurants_archive_session", columnList = "session_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedRestaurant {
+
+    @Id
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Column(name = "restaurant_name", nullable = false)
+    private String restaurantName;
+
+    @Column(name = "submitted_by", nullable = false)
+    private String submittedBy;
+
+    @Column(name = "submitted_at", nullable = false)
+    private LocalDateTime submittedAt;
+
+    @Column(nullable = false)
+    private int weight;
+
+    @Column(name = "submitter_count", nullable = false)
+    private int submitterCount;
+
+    @Column(name = "vote_count", nullable = false)
+    private long voteCount;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+}
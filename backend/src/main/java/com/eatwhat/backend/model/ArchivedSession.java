@@ -0,0 +1,48 @@
+package com.eatwhat.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// a session moved out of sessions by the archive job, keeping its original id; written with insert-select only
+@Entity
+@Table(name = "sessions_archive", indexes = {
+    @Index(name = "idx_sessions_archive_code", columnList = "session_code")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedSession {
+
+    @Id
+    private Long id;
+
+    @Column(name = "session_code", nullable = false)
+    private String sessionCode;
+
+    @Column(name = "initiator_id", nullable = false)
+    private Long initiatorId;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    @Column(name = "random_restaurant_id")
+    private Long randomRestaurantId;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+}
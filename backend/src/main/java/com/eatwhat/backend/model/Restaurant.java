@@ -1,8 +1,13 @@
 package com.eatwhat.backend.model;
 
+import java.text.Normalizer;
 import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 
+import org.hibernate.annotations.ColumnDefault;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
@@ -11,9 +16,12 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
@@ -21,20 +29,39 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "restaurants")
+@Table(name = "restaurants", uniqueConstraints = {
+    // rows from before the column keep it null, which the unique key allows more than once
+    @UniqueConstraint(name = "uk_restaurants_session_normalized_name", columnNames = {"session_id", "normalized_name"})
+}, indexes = {
+    @Index(name = "idx_restaurants_session_version", columnList = "session_id, added_version"),
+    @Index(name = "idx_restaurants_session_submitted", columnList = "session_id, submitted_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 public class Restaurant {
+
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final int DEFAULT_WEIGHT = 1;
+    public static final int MAX_WEIGHT = 100;
+
+    private static final Pattern NOT_LETTER_OR_DIGIT = Pattern.compile("[^\\p{L}\\p{N}]");
     
+    // pooled ids so inserts can be JDBC-batched; on MySQL the sequence is emulated by the restaurants_seq table
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "restaurant_id")
+    @SequenceGenerator(name = "restaurant_id", sequenceName = "restaurants_seq", allocationSize = Restaurant.ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Restaurant name is required")
     @Column(name = "restaurant_name", nullable = false)
     private String restaurantName;
 
+    // case folded with punctuation and whitespace stripped, one row per name and session
+    @Column(name = "normalized_name")
+    @JsonIgnore
+    private String normalizedName;
+
     @NotBlank(message = "Submitted by is required")
     @Column(nullable = false)
     private String submittedBy;
@@ -48,13 +75,42 @@ public class Restaurant {
     @Column(name = "submitted_at", nullable = false)
     private LocalDateTime submittedAt;
 
+    // session version at which this restaurant was added
+    @Column(name = "added_version", nullable = false)
+    private long addedVersion;
+
+    // relative chance in a weighted draw; the default keeps rows created before the column at 1
+    @Column(nullable = false)
+    @ColumnDefault("1")
+    private int weight = DEFAULT_WEIGHT;
+
+    // participants who submitted this name, the original submitter included
+    @Column(name = "submitter_count", nullable = false)
+    @ColumnDefault("1")
+    private int submitterCount = 1;
+
+    // aggregate written by the vote flush, live tallies are served by VoteService
+    @Column(name = "vote_count", nullable = false)
+    @JsonIgnore
+    private long voteCount;
+
     public Restaurant(String restaurantName, String submittedBy, Session session) {
         this.restaurantName = restaurantName;
+        this.normalizedName = normalizeName(restaurantName);
         this.submittedBy = submittedBy;
         this.session = session;
         this.submittedAt = LocalDateTime.now();
     }
 
+    // "McDonald's ", "mcdonalds" and "McDonalds" all become "mcdonalds"
+    public static String normalizeName(String restaurantName) {
+        if (restaurantName == null) {
+            return null;
+        }
+        String folded = Normalizer.normalize(restaurantName, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return NOT_LETTER_OR_DIGIT.matcher(folded).replaceAll("");
+    }
+
     @Override
     public String toString() {
         return "Restaurant{" +
@@ -63,6 +119,10 @@ public class Restaurant {
                 ", submittedBy='" + submittedBy + '\'' +
                 ", session=" + (session != null ? session.getId() : null) +
                 ", submittedAt=" + submittedAt +
+                ", addedVersion=" + addedVersion +
+                ", weight=" + weight +
+                ", submitterCount=" + submitterCount +
+                ", voteCount=" + voteCount +
                 '}';
     }
     
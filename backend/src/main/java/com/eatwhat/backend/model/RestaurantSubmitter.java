@@ -0,0 +1,56 @@
+package com.eatwhat.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// a participant who submitted a name that was already in the session, merged into that restaurant
+@Entity
+@Table(name = "restaurant_submitters", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_restaurant_submitters_restaurant_user", columnNames = {"restaurant_id", "username"})
+}, indexes = {
+    @Index(name = "idx_restaurant_submitters_session", columnList = "session_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class RestaurantSubmitter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(name = "submitted_at", nullable = false)
+    private LocalDateTime submittedAt;
+
+    @Override
+    public String toString() {
+        return "RestaurantSubmitter{" +
+                "id=" + id +
+                ", sessionId=" + sessionId +
+                ", restaurantId=" + restaurantId +
+                ", username='" + username + '\'' +
+                ", submittedAt=" + submittedAt +
+                '}';
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.eatwhat.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// records a deleted restaurant so delta-sync clients can be told to drop it
+@Entity
+@Table(name = "restaurant_tombstones", indexes = {
+    @Index(name = "idx_tombstones_session_version", columnList = "session_id, removed_version")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class RestaurantTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+
+    @Column(name = "removed_version", nullable = false)
+    private long removedVersion;
+
+    @Column(name = "removed_at", nullable = false)
+    private LocalDateTime removedAt;
+
+    public RestaurantTombstone(Long sessionId, Long restaurantId, long removedVersion) {
+        this.sessionId = sessionId;
+        this.restaurantId = restaurantId;
+        this.removedVersion = removedVersion;
+        this.removedAt = LocalDateTime.now();
+    }
+
+    @Override
+    public String toString() {
+        return "RestaurantTombstone{" +
+                "id=" + id +
+                ", sessionId=" + sessionId +
+                ", restaurantId=" + restaurantId +
+                ", removedVersion=" + removedVersion +
+                ", removedAt=" + removedAt +
+                '}';
+    }
+
+}
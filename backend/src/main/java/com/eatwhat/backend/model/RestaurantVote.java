@@ -0,0 +1,56 @@
+package com.eatwhat.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// one row per user per restaurant; rows are written in batches by VoteService, not through this entity
+@Entity
+@Table(name = "restaurant_votes", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_restaurant_votes_restaurant_user", columnNames = {"restaurant_id", "username"})
+}, indexes = {
+    @Index(name = "idx_restaurant_votes_session", columnList = "session_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class RestaurantVote {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(name = "voted_at", nullable = false)
+    private LocalDateTime votedAt;
+
+    @Override
+    public String toString() {
+        return "RestaurantVote{" +
+                "id=" + id +
+                ", sessionId=" + sessionId +
+                ", restaurantId=" + restaurantId +
+                ", username='" + username + '\'' +
+                ", votedAt=" + votedAt +
+                '}';
+    }
+
+}
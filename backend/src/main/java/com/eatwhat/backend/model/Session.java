@@ -13,6 +13,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -24,7 +25,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "sessions")
+@Table(name = "sessions", indexes = {
+    @Index(name = "idx_sessions_status", columnList = "status")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -57,6 +60,14 @@ public class Session {
     @JoinColumn(name = "random_restaurant_id")
     private Restaurant randomRestaurant;
 
+    // bumped by every submit, delete and lock; only ever written through SessionRepository update queries
+    @Column(name = "version", nullable = false, updatable = false)
+    private long version;
+
+    // submitter of the earliest remaining restaurant, kept current by the submit and delete update queries
+    @Column(name = "first_submitter", updatable = false)
+    private String firstSubmitter;
+
     @OneToMany(mappedBy = "session", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Restaurant> restaurants = new ArrayList<>();
 
@@ -98,6 +109,8 @@ public class Session {
                 ", status=" + status +
                 ", createdAt=" + createdAt +
                 ", lockedAt=" + lockedAt +
+                ", version=" + version +
+                ", firstSubmitter='" + firstSubmitter + '\'' +
                 '}';
     }
 
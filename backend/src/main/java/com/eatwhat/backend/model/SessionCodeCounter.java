@@ -0,0 +1,40 @@
+package com.eatwhat.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// single row holding the next unleased session code sequence number
+@Entity
+@Table(name = "session_code_counter")
+@Getter
+@Setter
+@NoArgsConstructor
+public class SessionCodeCounter {
+
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+
+    public SessionCodeCounter(Long id, long nextValue) {
+        this.id = id;
+        this.nextValue = nextValue;
+    }
+
+    @Override
+    public String toString() {
+        return "SessionCodeCounter{" +
+                "id=" + id +
+                ", nextValue=" + nextValue +
+                '}';
+    }
+
+}
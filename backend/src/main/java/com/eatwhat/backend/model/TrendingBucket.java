@@ -0,0 +1,62 @@
+package com.eatwhat.backend.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.Length;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// checkpoint of one hour of trending counts: the serialized sketch and its candidate names
+@Entity
+@Table(name = "trending_buckets", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_trending_buckets_metric_hour", columnNames = {"metric", "bucket_hour"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class TrendingBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "metric", nullable = false, length = 20)
+    private String metric;
+
+    // hours since the epoch, UTC
+    @Column(name = "bucket_hour", nullable = false)
+    private long bucketHour;
+
+    @Lob
+    @Column(name = "data", nullable = false, length = Length.LONG32)
+    private byte[] data;
+
+    @Column(name = "checkpointed_at", nullable = false)
+    private LocalDateTime checkpointedAt;
+
+    public TrendingBucket(String metric, long bucketHour) {
+        this.metric = metric;
+        this.bucketHour = bucketHour;
+    }
+
+    @Override
+    public String toString() {
+        return "TrendingBucket{" +
+                "id=" + id +
+                ", metric='" + metric + '\'' +
+                ", bucketHour=" + bucketHour +
+                ", checkpointedAt=" + checkpointedAt +
+                '}';
+    }
+
+}
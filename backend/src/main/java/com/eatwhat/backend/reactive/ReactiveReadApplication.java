@@ -0,0 +1,43 @@
+package com.eatwhat.backend.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.batch.autoconfigure.BatchAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration;
+import org.springframework.boot.tomcat.autoconfigure.reactive.TomcatReactiveWebServerAutoConfiguration;
+
+/**
+ * Read-only WebFlux server for the endpoints every open page polls: session,
+ * restaurant list and restaurant count. It runs as its own process next to
+ * BackendApplication, which keeps every write and owns the schema, and answers
+ * with the same ApiResponse bodies and ETags from the same tables over R2DBC,
+ * so a waiting client holds no thread.
+ *
+ * It only sees what has reached MySQL. With app.hot-sessions.enabled on the
+ * MVC side, a session held by HotSessionEngine is written behind, so its
+ * session, list, count and "v" ETag here lag the primary's until the writer
+ * flushes (app.hot-sessions.flush-interval-ms, longer under a backlog or after
+ * a failed write). Deployments that need read-your-writes on hot sessions keep
+ * VITE_READ_API_URL unset so the reads go to the primary.
+ *
+ * Started from the same jar:
+ * java -Dloader.main=com.eatwhat.backend.reactive.ReactiveReadApplication
+ *      -cp backend.jar org.springframework.boot.loader.launch.PropertiesLauncher
+ */
+@SpringBootApplication(exclude = {
+        // JDBC, JPA, Flyway and batch belong to the MVC application
+        DataSourceAutoConfiguration.class,
+        BatchAutoConfiguration.class,
+        // serve on Netty's event loops, not Tomcat's reactive adapter
+        TomcatReactiveWebServerAutoConfiguration.class })
+public class ReactiveReadApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveReadApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties("server.port=8081")
+                .run(args);
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.eatwhat.backend.reactive;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+
+/**
+ * R2DBC pool for the read module, configured under app.read-api like the
+ * replica pool is under app.datasource.replica.
+ */
+@Configuration
+public class ReadDatabaseConfig {
+
+    @Value("${app.read-api.r2dbc.url}")
+    private String url;
+
+    @Value("${app.read-api.r2dbc.username:${spring.datasource.username:}}")
+    private String username;
+
+    @Value("${app.read-api.r2dbc.password:${spring.datasource.password:}}")
+    private String password;
+
+    @Value("${app.read-api.pool.max-size:20}")
+    private int maxSize;
+
+    @Value("${app.read-api.pool.max-acquire-time:5s}")
+    private Duration maxAcquireTime;
+
+    // close() only returns a Mono, dispose() actually closes the connections
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool readConnectionPool() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("read-api")
+                .initialSize(Math.min(maxSize, 5))
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionPool readConnectionPool) {
+        return DatabaseClient.create(readConnectionPool);
+    }
+
+}
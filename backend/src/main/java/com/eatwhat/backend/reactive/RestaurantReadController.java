@@ -0,0 +1,85 @@
+package com.eatwhat.backend.reactive;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.eatwhat.backend.controller.RestaurantController.RestaurantCountResponse;
+import com.eatwhat.backend.dto.ApiResponse;
+import com.eatwhat.backend.model.Restaurant;
+
+import reactor.core.publisher.Mono;
+
+// the restaurant list and count of RestaurantController, answered without blocking
+@RestController
+@RequestMapping("/api/v1/sessions/{sessionCode}/restaurants")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true") // for react frontend
+public class RestaurantReadController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantReadController.class);
+
+    @Autowired
+    private SessionReadRepository sessionReads;
+
+    @GetMapping
+    public Mono<ResponseEntity<ApiResponse<List<Restaurant>>>> getRestaurants(@PathVariable String sessionCode,
+                                                                              ServerWebExchange exchange) {
+        logger.debug("Retrieving restaurants for session: {}", sessionCode);
+        return sessionReads.findKey(sessionCode)
+                .flatMap(key -> {
+                    if (exchange.checkNotModified(key.eTag())) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(key.eTag())
+                                .<ApiResponse<List<Restaurant>>>build());
+                    }
+                    return sessionReads.findRestaurants(key.id()).collectList()
+                            .map(restaurants -> ResponseEntity.ok().eTag(key.eTag()).body(ApiResponse.success(restaurants)));
+                })
+                .switchIfEmpty(sessionNotFound(sessionCode))
+                .onErrorResume(e -> {
+                    logger.error("Error retrieving restaurants for session: {}", sessionCode, e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(ApiResponse.error("Error retrieving restaurants: " + e.getMessage(), 500)));
+                });
+    }
+
+    @GetMapping("/count")
+    public Mono<ResponseEntity<ApiResponse<RestaurantCountResponse>>> getRestaurantCount(@PathVariable String sessionCode,
+                                                                                        ServerWebExchange exchange) {
+        logger.debug("Getting restaurant count for session: {}", sessionCode);
+        return sessionReads.findKey(sessionCode)
+                .flatMap(key -> {
+                    if (exchange.checkNotModified(key.eTag())) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(key.eTag())
+                                .<ApiResponse<RestaurantCountResponse>>build());
+                    }
+                    return sessionReads.countRestaurants(key.id())
+                            .map(count -> ResponseEntity.ok().eTag(key.eTag())
+                                    .body(ApiResponse.success(new RestaurantCountResponse(count))));
+                })
+                .switchIfEmpty(sessionNotFound(sessionCode))
+                .onErrorResume(e -> {
+                    logger.error("Error getting restaurant count for session: {}", sessionCode, e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(ApiResponse.error("Error getting restaurant count: " + e.getMessage(), 500)));
+                });
+    }
+
+    // the 400 RestaurantController answers when SessionService rejects an unknown code
+    private static <T> Mono<ResponseEntity<ApiResponse<T>>> sessionNotFound(String sessionCode) {
+        return Mono.fromSupplier(() -> {
+            logger.warn("Invalid session for restaurant read: sessionCode={}", sessionCode);
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error: Session not found: " + sessionCode, 400));
+        });
+    }
+
+}
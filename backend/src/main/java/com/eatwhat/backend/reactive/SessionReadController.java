@@ -0,0 +1,57 @@
+package com.eatwhat.backend.reactive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.eatwhat.backend.dto.ApiResponse;
+import com.eatwhat.backend.model.Session;
+
+import reactor.core.publisher.Mono;
+
+// GET /api/v1/sessions/{sessionCode} of SessionController, answered without blocking
+@RestController
+@RequestMapping("/api/v1/sessions")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true") // for react frontend
+public class SessionReadController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionReadController.class);
+
+    @Autowired
+    private SessionReadRepository sessionReads;
+
+    @GetMapping("/{sessionCode}")
+    public Mono<ResponseEntity<ApiResponse<Session>>> getSession(@PathVariable String sessionCode,
+                                                                 ServerWebExchange exchange) {
+        // polled by every open page, so the success path logs at debug
+        logger.debug("Retrieving session: {}", sessionCode);
+        return sessionReads.findKey(sessionCode)
+                .flatMap(key -> {
+                    if (exchange.checkNotModified(key.eTag())) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(key.eTag())
+                                .<ApiResponse<Session>>build());
+                    }
+                    return sessionReads.findSession(key.id())
+                            .map(session -> ResponseEntity.ok().eTag(key.eTag()).body(ApiResponse.success(session)));
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    logger.warn("Session not found: {}", sessionCode);
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                            .body(ApiResponse.<Session>notFound("Session not found"));
+                }))
+                .onErrorResume(e -> {
+                    logger.error("Error retrieving session: {}", sessionCode, e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(ApiResponse.error("Error retrieving session: " + e.getMessage(), 500)));
+                });
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.eatwhat.backend.reactive;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.eatwhat.backend.model.Restaurant;
+import com.eatwhat.backend.model.Session;
+import com.eatwhat.backend.model.User;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The queries behind the read module, mapped onto the model classes the MVC
+ * application serializes so both produce the same JSON.
+ */
+@Repository
+public class SessionReadRepository {
+
+    @Autowired
+    private DatabaseClient db;
+
+    // enough to answer a conditional GET, the other queries only run when it fails
+    public Mono<SessionKey> findKey(String sessionCode) {
+        return db.sql("select id, version from sessions where session_code = :sessionCode")
+                .bind("sessionCode", sessionCode)
+                .map(row -> new SessionKey(row.get("id", Long.class), row.get("version", Long.class)))
+                .one();
+    }
+
+    // the session with its initiator, restaurants and drawn restaurant, as the MVC endpoint lazy-loads them
+    public Mono<Session> findSession(long sessionId) {
+        Mono<SessionRow> session = db.sql("""
+                select s.id, s.session_code, s.status, s.created_at, s.locked_at, s.random_restaurant_id,
+                       s.version, s.first_submitter,
+                       u.id as initiator_id, u.username, u.email, u.role, u.created_at as initiator_created_at
+                from sessions s join users u on u.id = s.initiator_id
+                where s.id = :id""")
+                .bind("id", sessionId)
+                .map(SessionReadRepository::toSessionRow)
+                .one();
+        return session.zipWith(findRestaurants(sessionId).collectList(), SessionReadRepository::withRestaurants);
+    }
+
+    public Flux<Restaurant> findRestaurants(long sessionId) {
+        return db.sql("""
+                select id, restaurant_name, submitted_by, submitted_at, added_version, weight, submitter_count
+                from restaurants where session_id = :sessionId order by submitted_at, id""")
+                .bind("sessionId", sessionId)
+                .map(SessionReadRepository::toRestaurant)
+                .all();
+    }
+
+    public Mono<Long> countRestaurants(long sessionId) {
+        return db.sql("select count(*) from restaurants where session_id = :sessionId")
+                .bind("sessionId", sessionId)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private static SessionRow toSessionRow(Readable row) {
+        User initiator = new User();
+        initiator.setId(row.get("initiator_id", Long.class));
+        initiator.setUsername(row.get("username", String.class));
+        initiator.setEmail(row.get("email", String.class));
+        initiator.setRole(User.UserRole.valueOf(row.get("role", String.class)));
+        initiator.setCreatedAt(row.get("initiator_created_at", LocalDateTime.class));
+
+        Session session = new Session();
+        session.setId(row.get("id", Long.class));
+        session.setSessionCode(row.get("session_code", String.class));
+        session.setInitiator(initiator);
+        session.setStatus(Session.SessionStatus.valueOf(row.get("status", String.class)));
+        session.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        session.setLockedAt(row.get("locked_at", LocalDateTime.class));
+        session.setVersion(row.get("version", Long.class));
+        session.setFirstSubmitter(row.get("first_submitter", String.class));
+        return new SessionRow(session, row.get("random_restaurant_id", Long.class));
+    }
+
+    private static Restaurant toRestaurant(Readable row) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(row.get("id", Long.class));
+        restaurant.setRestaurantName(row.get("restaurant_name", String.class));
+        restaurant.setSubmittedBy(row.get("submitted_by", String.class));
+        restaurant.setSubmittedAt(row.get("submitted_at", LocalDateTime.class));
+        restaurant.setAddedVersion(row.get("added_version", Long.class));
+        restaurant.setWeight(row.get("weight", Integer.class));
+        restaurant.setSubmitterCount(row.get("submitter_count", Integer.class));
+        return restaurant;
+    }
+
+    // the drawn restaurant is always one of the session's own
+    private static Session withRestaurants(SessionRow row, List<Restaurant> restaurants) {
+        Session session = row.session();
+        session.setRestaurants(restaurants);
+        if (row.randomRestaurantId() != null) {
+            restaurants.stream()
+                    .filter(restaurant -> Objects.equals(restaurant.getId(), row.randomRestaurantId()))
+                    .findFirst()
+                    .ifPresent(session::setRandomRestaurant);
+        }
+        return session;
+    }
+
+    private record SessionRow(Session session, Long randomRestaurantId) {}
+
+    public record SessionKey(long id, long version) {
+
+        // same format as SessionService.getSessionETag
+        public String eTag() {
+            return "\"v" + version + "\"";
+        }
+
+    }
+
+}
@@ -1,13 +1,28 @@
 package com.eatwhat.backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.eatwhat.backend.model.Restaurant;
 import com.eatwhat.backend.model.Session;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
     
@@ -15,6 +30,88 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
 
     List<Restaurant> findBySessionOrderBySubmittedAtAsc(Session session);
 
+    List<Restaurant> findBySessionAndAddedVersionGreaterThanOrderBySubmittedAtAsc(Session session, long sinceVersion);
+
     long countBySession(Session session);
 
+    long countBySessionStatus(Session.SessionStatus status);
+
+    // keyset pages on (session_id, submitted_at, id); the caller passes a limit-only Pageable
+    @Query("select r from Restaurant r where r.session.id = :sessionId order by r.submittedAt, r.id")
+    List<Restaurant> findFirstPage(@Param("sessionId") Long sessionId, Pageable pageable);
+
+    @Query("select r from Restaurant r where r.session.id = :sessionId and (r.submittedAt > :submittedAt "
+            + "or (r.submittedAt = :submittedAt and r.id > :id)) order by r.submittedAt, r.id")
+    List<Restaurant> findPageAfter(@Param("sessionId") Long sessionId, @Param("submittedAt") LocalDateTime submittedAt,
+                                   @Param("id") Long id, Pageable pageable);
+
+    // Integer.MIN_VALUE makes Connector/J stream rows instead of buffering the whole result;
+    // rows are unmanaged so the persistence context does not grow either
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("select new com.eatwhat.backend.repository.RestaurantRow(r.id, r.restaurantName, r.submittedBy, "
+            + "r.submittedAt, r.addedVersion, r.weight, r.submitterCount) from Restaurant r where r.session.id = :sessionId order by r.submittedAt, r.id")
+    Stream<RestaurantRow> streamBySessionId(@Param("sessionId") Long sessionId);
+
+    // walks only the (session_id, added_version) index, no restaurant rows are read
+    @Query("select r.id from Restaurant r where r.session.id = :sessionId order by r.addedVersion")
+    List<Long> findIdsBySessionId(@Param("sessionId") Long sessionId, Pageable pageable);
+
+    // shared row lock, a concurrent delete waits until the caller commits
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select r from Restaurant r where r.id = :id")
+    Optional<Restaurant> findByIdForShare(@Param("id") Long id);
+
+    @Query("select count(r) > 0 from Restaurant r where r.id = :id and r.session.id = :sessionId")
+    boolean existsInSession(@Param("id") Long id, @Param("sessionId") Long sessionId);
+
+    // recounted from the vote rows, so a vote flushed twice or by two instances is never counted twice
+    @Modifying
+    @Query("update Restaurant r set r.voteCount = "
+            + "(select count(v) from RestaurantVote v where v.restaurantId = r.id) where r.id in :ids")
+    int refreshVoteCounts(@Param("ids") Collection<Long> ids);
+
+    @Query("select r.id as id, r.voteCount as voteCount from Restaurant r "
+            + "where r.session.id = :sessionId and r.voteCount > 0")
+    List<VoteCountView> findVoteCountsBySessionId(@Param("sessionId") Long sessionId);
+
+    @Query("select r.id as id, r.normalizedName as normalizedName from Restaurant r "
+            + "where r.session.id = :sessionId and r.normalizedName is not null")
+    List<NameView> findNamesBySessionId(@Param("sessionId") Long sessionId);
+
+    @Query("select r.id from Restaurant r where r.session.id = :sessionId and r.normalizedName = :normalizedName")
+    Optional<Long> findIdByNormalizedName(@Param("sessionId") Long sessionId,
+                                          @Param("normalizedName") String normalizedName);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Restaurant r set r.submitterCount = r.submitterCount + 1 where r.id = :id")
+    int incrementSubmitterCount(@Param("id") Long id);
+
+    @Query("select r.submitterCount from Restaurant r where r.id = :id")
+    int findSubmitterCountById(@Param("id") Long id);
+
+    // every submitted name with how many people submitted it, walked by id to seed name suggestions
+    @Query("select r.id as id, r.restaurantName as restaurantName, r.submitterCount as submitterCount "
+            + "from Restaurant r where r.id > :afterId and r.id <= :maxId order by r.id")
+    List<SuggestionView> findSuggestionRows(@Param("afterId") Long afterId, @Param("maxId") Long maxId,
+                                            Pageable pageable);
+
+    @Query("select max(r.id) from Restaurant r")
+    Long findMaxId();
+
+    interface NameView {
+        Long getId();
+        String getNormalizedName();
+    }
+
+    interface VoteCountView {
+        Long getId();
+        long getVoteCount();
+    }
+
+    interface SuggestionView {
+        Long getId();
+        String getRestaurantName();
+        int getSubmitterCount();
+    }
+
 }
@@ -0,0 +1,17 @@
+package com.eatwhat.backend.repository;
+
+import java.time.LocalDateTime;
+
+import com.eatwhat.backend.model.Restaurant;
+
+// unmanaged read-only copy of a restaurant, serializes to the same JSON as the entity
+public record RestaurantRow(Long id, String restaurantName, String submittedBy, LocalDateTime submittedAt,
+                            long addedVersion, int weight, int submitterCount) {
+
+    public static RestaurantRow of(Restaurant restaurant) {
+        return new RestaurantRow(restaurant.getId(), restaurant.getRestaurantName(), restaurant.getSubmittedBy(),
+                restaurant.getSubmittedAt(), restaurant.getAddedVersion(), restaurant.getWeight(),
+                restaurant.getSubmitterCount());
+    }
+
+}
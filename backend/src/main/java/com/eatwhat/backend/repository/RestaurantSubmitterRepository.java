@@ -0,0 +1,37 @@
+package com.eatwhat.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.eatwhat.backend.model.RestaurantSubmitter;
+
+@Repository
+public interface RestaurantSubmitterRepository extends JpaRepository<RestaurantSubmitter, Long> {
+
+    // 0 when the user is already recorded for this restaurant
+    @Modifying
+    @Query(value = "insert ignore into restaurant_submitters (session_id, restaurant_id, username, submitted_at) "
+            + "values (:sessionId, :restaurantId, :username, :submittedAt)", nativeQuery = true)
+    int addSubmitter(@Param("sessionId") Long sessionId, @Param("restaurantId") Long restaurantId,
+                     @Param("username") String username, @Param("submittedAt") LocalDateTime submittedAt);
+
+    @Query("select s.restaurantId as restaurantId, s.username as username from RestaurantSubmitter s "
+            + "where s.sessionId = :sessionId")
+    List<SubmitterView> findBySessionId(@Param("sessionId") Long sessionId);
+
+    @Modifying
+    @Query("delete from RestaurantSubmitter s where s.restaurantId = :restaurantId")
+    int deleteByRestaurantId(@Param("restaurantId") Long restaurantId);
+
+    interface SubmitterView {
+        Long getRestaurantId();
+        String getUsername();
+    }
+
+}
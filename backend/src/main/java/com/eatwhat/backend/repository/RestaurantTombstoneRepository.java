@@ -0,0 +1,18 @@
+package com.eatwhat.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.eatwhat.backend.model.RestaurantTombstone;
+
+@Repository
+public interface RestaurantTombstoneRepository extends JpaRepository<RestaurantTombstone, Long> {
+
+    @Query("select t.restaurantId from RestaurantTombstone t where t.sessionId = :sessionId and t.removedVersion > :sinceVersion")
+    List<Long> findRemovedRestaurantIds(@Param("sessionId") Long sessionId, @Param("sinceVersion") long sinceVersion);
+
+}
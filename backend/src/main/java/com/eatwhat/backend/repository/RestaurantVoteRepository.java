@@ -0,0 +1,29 @@
+package com.eatwhat.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.eatwhat.backend.model.RestaurantVote;
+
+@Repository
+public interface RestaurantVoteRepository extends JpaRepository<RestaurantVote, Long> {
+
+    @Query("select v.restaurantId as restaurantId, v.username as username from RestaurantVote v "
+            + "where v.sessionId = :sessionId")
+    List<VoterView> findVotersBySessionId(@Param("sessionId") Long sessionId);
+
+    @Modifying
+    @Query("delete from RestaurantVote v where v.restaurantId in :restaurantIds")
+    int deleteByRestaurantIds(@Param("restaurantIds") List<Long> restaurantIds);
+
+    interface VoterView {
+        Long getRestaurantId();
+        String getUsername();
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.eatwhat.backend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.eatwhat.backend.model.SessionCodeCounter;
+
+@Repository
+public interface SessionCodeCounterRepository extends JpaRepository<SessionCodeCounter, Long> {
+
+    // row lock serializes leases across instances
+    @Modifying
+    @Query("update SessionCodeCounter c set c.nextValue = c.nextValue + :size where c.id = :id")
+    int advance(@Param("id") Long id, @Param("size") long size);
+
+    @Query("select c.nextValue from SessionCodeCounter c where c.id = :id")
+    long findNextValueById(@Param("id") Long id);
+
+}
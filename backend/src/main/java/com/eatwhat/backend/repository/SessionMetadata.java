@@ -0,0 +1,13 @@
+package com.eatwhat.backend.repository;
+
+import com.eatwhat.backend.model.Session;
+
+// the parts of a session that only change on lock, cheap enough to cache by code
+public record SessionMetadata(Long id, String sessionCode, Session.SessionStatus status,
+                              Long initiatorId, String initiatorUsername) {
+
+    public boolean isLocked() {
+        return status == Session.SessionStatus.LOCKED;
+    }
+
+}
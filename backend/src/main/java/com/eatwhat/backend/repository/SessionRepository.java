@@ -1,10 +1,15 @@
 package com.eatwhat.backend.repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.eatwhat.backend.model.Restaurant;
 import com.eatwhat.backend.model.Session;
 
 @Repository
@@ -14,4 +19,117 @@ public interface SessionRepository extends JpaRepository<Session, Long>{
 
     boolean existsBySessionCode(String sessionCode);
 
+    long countByStatus(Session.SessionStatus status);
+
+    // everything a snapshot serializes besides the restaurant list, in one statement
+    @Query("select s from Session s join fetch s.initiator left join fetch s.randomRestaurant "
+            + "where s.sessionCode = :sessionCode")
+    Optional<Session> findWithInitiatorBySessionCode(@Param("sessionCode") String sessionCode);
+
+    @Query("select new com.eatwhat.backend.repository.SessionMetadata(s.id, s.sessionCode, s.status, i.id, i.username) "
+            + "from Session s join s.initiator i where s.sessionCode = :sessionCode")
+    Optional<SessionMetadata> findMetadataBySessionCode(@Param("sessionCode") String sessionCode);
+
+    // guarded writes: each takes the session row lock, so concurrent writers to one session get
+    // consecutive versions, and matches no row when the session is missing or already locked
+    @Modifying
+    @Query("update Session s set s.version = s.version + :count, s.firstSubmitter = coalesce(s.firstSubmitter, :submittedBy) "
+            + "where s.sessionCode = :sessionCode and s.status = :active")
+    int incrementVersionForSubmitIfActive(@Param("sessionCode") String sessionCode,
+                                          @Param("submittedBy") String submittedBy, @Param("count") long count,
+                                          @Param("active") Session.SessionStatus active);
+
+    // reserves count consecutive versions, one per submitted restaurant
+    default int incrementVersionForSubmitIfActive(String sessionCode, String submittedBy, long count) {
+        return incrementVersionForSubmitIfActive(sessionCode, submittedBy, count, Session.SessionStatus.ACTIVE);
+    }
+
+    // also matches no row when the restaurant is gone or was submitted by someone else
+    @Modifying
+    @Query("update Session s set s.version = s.version + 1 where s.status = :active and s.id = "
+            + "(select r.session.id from Restaurant r where r.id = :restaurantId and r.submittedBy = :submittedBy)")
+    int incrementVersionForRestaurantIfActive(@Param("restaurantId") Long restaurantId,
+                                              @Param("submittedBy") String submittedBy,
+                                              @Param("active") Session.SessionStatus active);
+
+    default int incrementVersionForRestaurantIfActive(Long restaurantId, String submittedBy) {
+        return incrementVersionForRestaurantIfActive(restaurantId, submittedBy, Session.SessionStatus.ACTIVE);
+    }
+
+    @Modifying
+    @Query("update Session s set s.firstSubmitter = :submittedBy where s.id = :id and s.firstSubmitter is null")
+    int claimFirstSubmitter(@Param("id") Long id, @Param("submittedBy") String submittedBy);
+
+    // after a delete: recomputed only when the deleted restaurant's submitter was the first one
+    @Modifying
+    @Query("update Session s set s.firstSubmitter = (select r.submittedBy from Restaurant r where r.session.id = s.id "
+            + "order by r.addedVersion limit 1) where s.id = :id and s.firstSubmitter = :submittedBy")
+    int refreshFirstSubmitter(@Param("id") Long id, @Param("submittedBy") String submittedBy);
+
+    // selects the id too, a lone null column would come back as an empty Optional
+    @Query("select s.id as id, s.firstSubmitter as firstSubmitter from Session s where s.sessionCode = :sessionCode")
+    Optional<FirstSubmitterView> findFirstSubmitterBySessionCode(@Param("sessionCode") String sessionCode);
+
+    @Query("select s.version from Session s where s.id = :id")
+    long findVersionById(@Param("id") Long id);
+
+    @Query("select s.id as id, s.sessionCode as sessionCode, s.version as version from Session s "
+            + "where s.sessionCode = :sessionCode")
+    Optional<SessionVersionView> findVersionViewBySessionCode(@Param("sessionCode") String sessionCode);
+
+    @Query("select s.id as id, s.sessionCode as sessionCode, s.version as version from Restaurant r join r.session s "
+            + "where r.id = :restaurantId")
+    Optional<SessionVersionView> findVersionViewByRestaurantId(@Param("restaurantId") Long restaurantId);
+
+    @Query("select s.version from Session s where s.sessionCode = :sessionCode")
+    Optional<Long> findVersionBySessionCode(@Param("sessionCode") String sessionCode);
+
+    // write-behind applies versions handed out in memory, never moving them backwards
+    @Modifying
+    @Query("update Session s set s.version = :version where s.id = :id and s.version < :version")
+    int raiseVersion(@Param("id") Long id, @Param("version") long version);
+
+    // used by the write-behind flusher, the caller has already checked the session was active
+    @Modifying
+    @Query("update Session s set s.status = :status, s.lockedAt = :lockedAt, s.randomRestaurant = :randomRestaurant where s.id = :id")
+    int markLocked(@Param("id") Long id, @Param("status") Session.SessionStatus status,
+                   @Param("lockedAt") LocalDateTime lockedAt, @Param("randomRestaurant") Restaurant randomRestaurant);
+
+    default int markLocked(Long id, LocalDateTime lockedAt, Restaurant randomRestaurant) {
+        return markLocked(id, Session.SessionStatus.LOCKED, lockedAt, randomRestaurant);
+    }
+
+    // compare-and-set on status: of any number of concurrent lock requests exactly one matches the row
+    @Modifying(clearAutomatically = true)
+    @Query("update Session s set s.status = :locked, s.lockedAt = :lockedAt, s.randomRestaurant = :randomRestaurant, "
+            + "s.version = s.version + 1 where s.id = :id and s.status = :active")
+    int lockIfActive(@Param("id") Long id, @Param("active") Session.SessionStatus active,
+                     @Param("locked") Session.SessionStatus locked, @Param("lockedAt") LocalDateTime lockedAt,
+                     @Param("randomRestaurant") Restaurant randomRestaurant);
+
+    default int lockIfActive(Long id, LocalDateTime lockedAt, Restaurant randomRestaurant) {
+        return lockIfActive(id, Session.SessionStatus.ACTIVE, Session.SessionStatus.LOCKED, lockedAt, randomRestaurant);
+    }
+
+    @Modifying
+    @Query("update Session s set s.status = :locked, s.lockedAt = :lockedAt, s.version = s.version + 1 "
+            + "where s.sessionCode = :sessionCode and s.status = :active")
+    int lockIfActiveByCode(@Param("sessionCode") String sessionCode, @Param("active") Session.SessionStatus active,
+                           @Param("locked") Session.SessionStatus locked, @Param("lockedAt") LocalDateTime lockedAt);
+
+    default int lockIfActiveByCode(String sessionCode, LocalDateTime lockedAt) {
+        return lockIfActiveByCode(sessionCode, Session.SessionStatus.ACTIVE, Session.SessionStatus.LOCKED, lockedAt);
+    }
+
+    interface FirstSubmitterView {
+        Long getId();
+        String getFirstSubmitter();
+    }
+
+    interface SessionVersionView {
+        Long getId();
+        String getSessionCode();
+        long getVersion();
+    }
+
 }
@@ -0,0 +1,25 @@
+package com.eatwhat.backend.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.eatwhat.backend.model.TrendingBucket;
+
+@Repository
+public interface TrendingBucketRepository extends JpaRepository<TrendingBucket, Long> {
+
+    Optional<TrendingBucket> findByMetricAndBucketHour(String metric, long bucketHour);
+
+    List<TrendingBucket> findByMetricAndBucketHourGreaterThanEqual(String metric, long bucketHour);
+
+    @Modifying
+    @Query("delete from TrendingBucket b where b.metric = :metric and b.bucketHour < :bucketHour")
+    int deleteOlderThan(@Param("metric") String metric, @Param("bucketHour") long bucketHour);
+
+}
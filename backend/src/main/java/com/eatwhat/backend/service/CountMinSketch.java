@@ -0,0 +1,100 @@
+package com.eatwhat.backend.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Count-Min Sketch over string keys: depth rows of width counters, each key adds to
+ * one counter per row and is estimated by the smallest of them. Estimates never
+ * undercount and overcount by at most about e/width of the total added, with
+ * probability 1 - e^-depth. Sketches of the same shape add and subtract counter by
+ * counter, which is how trending windows slide. Not thread-safe.
+ */
+final class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final int[] counters;
+
+    CountMinSketch(int depth, int width) {
+        this(depth, width, new int[depth * width]);
+    }
+
+    CountMinSketch(int depth, int width, int[] counters) {
+        if (depth < 1 || width < 1 || counters.length != depth * width) {
+            throw new IllegalArgumentException("Invalid sketch shape " + depth + "x" + width);
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = counters;
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    int width() {
+        return width;
+    }
+
+    // the live counters, for checkpointing
+    int[] counters() {
+        return counters;
+    }
+
+    void add(String key, int count) {
+        long hash = hash(key);
+        for (int row = 0; row < depth; row++) {
+            counters[index(hash, row)] += count;
+        }
+    }
+
+    int estimate(String key) {
+        long hash = hash(key);
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[index(hash, row)]);
+        }
+        return min;
+    }
+
+    void addAll(CountMinSketch other) {
+        requireSameShape(other);
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+    }
+
+    void subtractAll(CountMinSketch other) {
+        requireSameShape(other);
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] -= other.counters[i];
+        }
+    }
+
+    private void requireSameShape(CountMinSketch other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("Sketch shapes differ");
+        }
+    }
+
+    // rows share one 64-bit hash, the second half stepping the first (Kirsch-Mitzenmacher)
+    private int index(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return row * width + Math.floorMod(h1 + row * h2, width);
+    }
+
+    // FNV-1a over UTF-8 with a final mix, stable across restarts unlike identity hashes
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.eatwhat.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.eatwhat.backend.model.Restaurant;
+import com.eatwhat.backend.model.Session;
+
+/**
+ * In-memory copy of one session aggregate. Every field except the pending
+ * write counter is guarded by {@link #lock}.
+ * <p>
+ * Versions are handed out when a write is queued, but a submission or merge only
+ * shows up once its row is committed. {@link #visibleVersion()} is therefore held back
+ * below the oldest submission still in flight, so a delta reader never skips it.
+ */
+class HotSession {
+
+    final ReentrantLock lock = new ReentrantLock();
+    final Session session;
+    final List<Restaurant> restaurants;
+    final AtomicInteger pendingWrites = new AtomicInteger();
+    final long loadedVersion;
+    final TreeSet<Long> pendingInsertVersions = new TreeSet<>();
+    final List<Tombstone> tombstones = new ArrayList<>();
+    // normalized name to its restaurant, pending inserts included, so duplicates merge before they reach the database
+    final Map<String, NameEntry> names = new HashMap<>();
+
+    boolean evicted = false;
+    // set when the database rejected a write this copy already shows
+    boolean stale = false;
+    volatile long lastAccess = System.currentTimeMillis();
+
+    HotSession(Session session, List<Restaurant> restaurants, Map<Long, List<String>> mergedSubmitters) {
+        this.session = session;
+        this.restaurants = new ArrayList<>(restaurants);
+        this.loadedVersion = session.getVersion();
+        for (Restaurant restaurant : restaurants) {
+            if (restaurant.getNormalizedName() != null) {
+                NameEntry entry = new NameEntry(restaurant);
+                entry.submitters.addAll(mergedSubmitters.getOrDefault(restaurant.getId(), List.of()));
+                names.put(restaurant.getNormalizedName(), entry);
+            }
+        }
+    }
+
+    long nextVersion() {
+        long version = session.getVersion() + 1;
+        session.setVersion(version);
+        return version;
+    }
+
+    long visibleVersion() {
+        return pendingInsertVersions.isEmpty() ? session.getVersion() : pendingInsertVersions.first() - 1;
+    }
+
+    void touch() {
+        lastAccess = System.currentTimeMillis();
+    }
+
+    // called by the writer thread once a queued write is in the database
+    void flushed() {
+        pendingWrites.decrementAndGet();
+    }
+
+    void appendFlushed(Restaurant restaurant) {
+        lock.lock();
+        try {
+            restaurants.add(restaurant);
+            pendingInsertVersions.remove(restaurant.getAddedVersion());
+        } finally {
+            lock.unlock();
+        }
+        flushed();
+    }
+
+    void insertFailed(Restaurant restaurant) {
+        lock.lock();
+        try {
+            pendingInsertVersions.remove(restaurant.getAddedVersion());
+            removeName(restaurant);
+        } finally {
+            lock.unlock();
+        }
+        flushed();
+    }
+
+    void mergeFlushed(Restaurant restaurant, int submitterCount, long version) {
+        lock.lock();
+        try {
+            restaurant.setSubmitterCount(submitterCount);
+            pendingInsertVersions.remove(version);
+        } finally {
+            lock.unlock();
+        }
+        flushed();
+    }
+
+    void mergeFailed(Restaurant restaurant, String submittedBy, long version) {
+        lock.lock();
+        try {
+            NameEntry entry = names.get(restaurant.getNormalizedName());
+            if (entry != null && entry.restaurant == restaurant) {
+                entry.submitters.remove(submittedBy);
+            }
+            pendingInsertVersions.remove(version);
+        } finally {
+            lock.unlock();
+        }
+        flushed();
+    }
+
+    void removeName(Restaurant restaurant) {
+        NameEntry entry = names.get(restaurant.getNormalizedName());
+        if (entry != null && entry.restaurant == restaurant) {
+            names.remove(restaurant.getNormalizedName());
+        }
+    }
+
+    // the list is kept in version order, so the head is the earliest remaining submission
+    String firstSubmitter() {
+        return restaurants.isEmpty() ? null : restaurants.get(0).getSubmittedBy();
+    }
+
+    Restaurant findRestaurant(Long restaurantId) {
+        for (Restaurant restaurant : restaurants) {
+            if (restaurantId.equals(restaurant.getId())) {
+                return restaurant;
+            }
+        }
+        return null;
+    }
+
+    record Tombstone(Long restaurantId, long version) {}
+
+    static final class NameEntry {
+        final Restaurant restaurant;
+        final Set<String> submitters = new HashSet<>();
+
+        NameEntry(Restaurant restaurant) {
+            this.restaurant = restaurant;
+            submitters.add(restaurant.getSubmittedBy());
+        }
+    }
+
+    // detached copy that callers can serialize without holding the lock
+    Session snapshot() {
+        Session copy = new Session();
+        copy.setId(session.getId());
+        copy.setSessionCode(session.getSessionCode());
+        copy.setInitiator(session.getInitiator());
+        copy.setStatus(session.getStatus());
+        copy.setCreatedAt(session.getCreatedAt());
+        copy.setLockedAt(session.getLockedAt());
+        copy.setRandomRestaurant(session.getRandomRestaurant());
+        copy.setVersion(visibleVersion());
+        copy.setFirstSubmitter(firstSubmitter());
+        copy.setRestaurants(new ArrayList<>(restaurants));
+        return copy;
+    }
+
+}
@@ -0,0 +1,432 @@
+package com.eatwhat.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eatwhat.backend.dto.RestaurantChangesResponse;
+import com.eatwhat.backend.event.RestaurantDeletedEvent;
+import com.eatwhat.backend.event.SessionLockedEvent;
+import com.eatwhat.backend.event.SessionsArchivedEvent;
+import com.eatwhat.backend.model.Restaurant;
+import com.eatwhat.backend.model.Session;
+import com.eatwhat.backend.model.User;
+import com.eatwhat.backend.repository.RestaurantRepository;
+import com.eatwhat.backend.repository.RestaurantSubmitterRepository;
+import com.eatwhat.backend.repository.SessionRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Optional in-memory engine for ACTIVE sessions (app.hot-sessions.enabled).
+ * Reads are answered from memory, mutations are serialized per session and
+ * persisted through {@link SessionWriteBehind}. Every method returns empty when
+ * the session is not hot (disabled, unknown, already locked when loaded, or over
+ * capacity) so callers fall back to the JPA path.
+ */
+@Service
+public class HotSessionEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotSessionEngine.class);
+
+    @Autowired
+    private SessionRepository sessionRepo;
+
+    @Autowired
+    private RestaurantRepository restaurantRepo;
+
+    @Autowired
+    private RestaurantSubmitterRepository submitterRepo;
+
+    @Autowired
+    private SessionWriteBehind writeBehind;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.hot-sessions.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.hot-sessions.max-sessions:10000}")
+    private int maxSessions;
+
+    @Value("${app.hot-sessions.idle-evict-ms:600000}")
+    private long idleEvictMs;
+
+    private final Map<String, HotSession> sessions = new ConcurrentHashMap<>();
+    private final Map<Long, String> restaurantSessions = new ConcurrentHashMap<>();
+
+    // not read-only: a hot session is the source of truth once loaded, so it comes from the primary, never a replica
+    private TransactionTemplate loadTx;
+
+    @PostConstruct
+    public void init() {
+        loadTx = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // loaded in memory, possibly with writes still queued
+    public boolean isHot(String sessionCode) {
+        return enabled && sessions.containsKey(sessionCode);
+    }
+
+    public Optional<Session> getSession(String sessionCode) {
+        return withSession(sessionCode, HotSession::snapshot);
+    }
+
+    public Optional<Boolean> isLocked(String sessionCode) {
+        return withSession(sessionCode, hot -> hot.session.isLocked());
+    }
+
+    // prefixed so a tag issued here never matches one issued from the database version
+    public Optional<String> getETag(String sessionCode) {
+        return withSession(sessionCode, hot -> "\"h" + hot.session.getVersion() + "." + hot.visibleVersion() + "\"");
+    }
+
+    public Optional<List<Restaurant>> getRestaurants(String sessionCode) {
+        return withSession(sessionCode, hot -> List.copyOf(hot.restaurants));
+    }
+
+    // limit + 1 rows, so the caller can tell whether another page follows
+    Optional<List<Restaurant>> getRestaurantPage(String sessionCode, RestaurantCursor after, int limit) {
+        return withSession(sessionCode, hot -> hot.restaurants.stream()
+                .filter(restaurant -> after == null || after.isBefore(restaurant))
+                .sorted(RestaurantCursor.ORDER)
+                .limit(limit + 1L)
+                .toList());
+    }
+
+    public Optional<Long> getRestaurantCount(String sessionCode) {
+        return withSession(sessionCode, hot -> (long) hot.restaurants.size());
+    }
+
+    // empty for a hot session without restaurants too, the session row holds the same null
+    public Optional<String> getFirstSubmitter(String sessionCode) {
+        return withSession(sessionCode, HotSession::firstSubmitter);
+    }
+
+    public Optional<RestaurantChangesResponse> getChanges(String sessionCode, long sinceVersion) {
+        return withSession(sessionCode, hot -> {
+            if (sinceVersion < hot.loadedVersion) {
+                // tombstones from before the load only exist in the database
+                return null;
+            }
+            long visible = hot.visibleVersion();
+            if (sinceVersion == visible) {
+                return RestaurantChangesResponse.unchanged(visible);
+            }
+            if (sinceVersion > visible) {
+                return RestaurantChangesResponse.full(visible, List.copyOf(hot.restaurants));
+            }
+            List<Restaurant> added = hot.restaurants.stream()
+                    .filter(r -> r.getAddedVersion() > sinceVersion && r.getAddedVersion() <= visible)
+                    .toList();
+            List<Long> removedIds = hot.tombstones.stream()
+                    .filter(t -> t.version() > sinceVersion && t.version() <= visible)
+                    .map(HotSession.Tombstone::restaurantId)
+                    .toList();
+            return RestaurantChangesResponse.delta(visible, added, removedIds);
+        });
+    }
+
+    // a name the session already has is merged into its restaurant instead of inserted
+    Optional<RestaurantSubmission> submitRestaurant(String sessionCode, String restaurantName, String submittedBy,
+                                                    int weight) {
+        Optional<CompletableFuture<RestaurantSubmission>> pending = withSession(sessionCode, hot -> {
+            if (hot.session.isLocked()) {
+                throw new IllegalStateException("Cannot submit restaurants to locked session: " + sessionCode);
+            }
+            return queueSubmission(hot, sessionCode, restaurantName, submittedBy, weight);
+        });
+        // wait outside the session lock so other participants are not blocked on our commit
+        return pending.map(HotSessionEngine::await);
+    }
+
+    Optional<List<RestaurantSubmission>> submitRestaurants(String sessionCode, List<String> restaurantNames,
+                                                           String submittedBy) {
+        Optional<List<CompletableFuture<RestaurantSubmission>>> pending = withSession(sessionCode, hot -> {
+            if (hot.session.isLocked()) {
+                throw new IllegalStateException("Cannot submit restaurants to locked session: " + sessionCode);
+            }
+            List<CompletableFuture<RestaurantSubmission>> futures = new ArrayList<>(restaurantNames.size());
+            for (String restaurantName : restaurantNames) {
+                futures.add(queueSubmission(hot, sessionCode, restaurantName, submittedBy, Restaurant.DEFAULT_WEIGHT));
+            }
+            return futures;
+        });
+        return pending.map(futures -> futures.stream().map(HotSessionEngine::await).toList());
+    }
+
+    private CompletableFuture<RestaurantSubmission> queueSubmission(HotSession hot, String sessionCode,
+                                                                   String restaurantName, String submittedBy,
+                                                                   int weight) {
+        HotSession.NameEntry entry = hot.names.get(Restaurant.normalizeName(restaurantName));
+        if (entry == null) {
+            return queueInsert(hot, sessionCode, restaurantName, submittedBy, weight)
+                    .thenApply(RestaurantSubmission::added);
+        }
+        Restaurant restaurant = entry.restaurant;
+        if (!entry.submitters.add(submittedBy)) {
+            return CompletableFuture.completedFuture(RestaurantSubmission.unchanged(restaurant));
+        }
+
+        // counted as pending like an insert, so the new count and its version become visible together
+        long version = hot.nextVersion();
+        hot.pendingInsertVersions.add(version);
+        hot.pendingWrites.incrementAndGet();
+        AtomicInteger submitterCount = new AtomicInteger();
+        return writeBehind.merge(hot.session.getId(), restaurant, submittedBy, version, submitterCount,
+                        () -> hot.mergeFlushed(restaurant, submitterCount.get(), version),
+                        () -> hot.mergeFailed(restaurant, submittedBy, version))
+                .thenApply(merged -> RestaurantSubmission.merged(merged, version));
+    }
+
+    private CompletableFuture<Restaurant> queueInsert(HotSession hot, String sessionCode, String restaurantName,
+                                                      String submittedBy, int weight) {
+        Restaurant restaurant = new Restaurant(restaurantName, submittedBy, hot.session);
+        restaurant.setWeight(weight);
+        long version = hot.nextVersion();
+        restaurant.setAddedVersion(version);
+        hot.pendingInsertVersions.add(version);
+        hot.names.put(restaurant.getNormalizedName(), new HotSession.NameEntry(restaurant));
+        hot.pendingWrites.incrementAndGet();
+        return writeBehind.insert(restaurant, () -> {
+            hot.appendFlushed(restaurant);
+            restaurantSessions.put(restaurant.getId(), sessionCode);
+        }, () -> hot.insertFailed(restaurant));
+    }
+
+    // the picker chooses from the session's restaurants while the session lock is held
+    public Optional<SessionLockedEvent> drawAndLock(String sessionCode, Function<List<Restaurant>, Restaurant> picker) {
+        return withSession(sessionCode, hot -> {
+            if (hot.restaurants.isEmpty()) {
+                throw new IllegalStateException("No restaurants available in session: " + sessionCode);
+            }
+            if (hot.session.isLocked()) {
+                throw new IllegalStateException("Session is already locked: " + sessionCode);
+            }
+            Restaurant picked = picker.apply(hot.restaurants);
+            return new SessionLockedEvent(sessionCode, picked, lock(hot, picked));
+        });
+    }
+
+    public Optional<SessionLockedEvent> lockSession(String sessionCode) {
+        return withSession(sessionCode, hot -> {
+            if (hot.session.isLocked()) {
+                throw new IllegalStateException("Session is already locked: " + sessionCode);
+            }
+            return new SessionLockedEvent(sessionCode, null, lock(hot, null));
+        });
+    }
+
+    // empty when the restaurant is not in a hot session
+    public Optional<RestaurantDeletedEvent> deleteRestaurant(Long restaurantId, String username) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String sessionCode = restaurantSessions.get(restaurantId);
+        if (sessionCode == null) {
+            // first touch of this session since startup or eviction, pull it into memory
+            sessionCode = loadTx.execute(status -> restaurantRepo.findById(restaurantId)
+                    .map(restaurant -> restaurant.getSession().getSessionCode())
+                    .orElse(null));
+            if (sessionCode == null) {
+                return Optional.empty();
+            }
+        }
+
+        String owner = sessionCode;
+        return withSession(sessionCode, hot -> {
+            Restaurant restaurant = hot.findRestaurant(restaurantId);
+            if (restaurant == null) {
+                throw new IllegalArgumentException("Restaurant not found: " + restaurantId);
+            }
+            if (hot.session.isLocked()) {
+                throw new IllegalStateException("Cannot delete restaurants from locked session");
+            }
+            if (!restaurant.getSubmittedBy().equals(username)) {
+                throw new IllegalArgumentException("Only the submitter can delete this restaurant");
+            }
+            hot.restaurants.remove(restaurant);
+            hot.removeName(restaurant);
+            restaurantSessions.remove(restaurantId);
+            long version = hot.nextVersion();
+            hot.tombstones.add(new HotSession.Tombstone(restaurantId, version));
+            hot.pendingWrites.incrementAndGet();
+            writeBehind.delete(hot.session.getId(), restaurantId, username, version, hot::flushed,
+                    () -> writeFailed(hot));
+            return new RestaurantDeletedEvent(owner, restaurantId, version);
+        });
+    }
+
+    private long lock(HotSession hot, Restaurant randomRestaurant) {
+        if (randomRestaurant == null) {
+            hot.session.lockSession();
+        } else {
+            hot.session.lockSession(randomRestaurant);
+        }
+        long version = hot.nextVersion();
+        hot.pendingWrites.incrementAndGet();
+        writeBehind.lock(hot.session.getId(), hot.session.getLockedAt(), randomRestaurant, version, hot::flushed,
+                () -> writeFailed(hot));
+        return version;
+    }
+
+    // the copy already shows the rejected delete or lock, so it is reloaded from the database instead of trusted
+    private void writeFailed(HotSession hot) {
+        hot.lock.lock();
+        try {
+            hot.stale = true;
+        } finally {
+            hot.lock.unlock();
+        }
+        hot.flushed();
+    }
+
+    // caller holds hot.lock
+    private void evict(String sessionCode, HotSession hot) {
+        hot.evicted = true;
+        sessions.remove(sessionCode, hot);
+        hot.restaurants.forEach(restaurant -> restaurantSessions.remove(restaurant.getId(), sessionCode));
+    }
+
+    // an action may return null to hand the call back to the JPA path
+    private <T> Optional<T> withSession(String sessionCode, Function<HotSession, T> action) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        while (true) {
+            HotSession hot = acquire(sessionCode);
+            if (hot == null) {
+                return Optional.empty();
+            }
+            hot.lock.lock();
+            try {
+                if (hot.evicted) {
+                    continue;
+                }
+                if (hot.stale) {
+                    // a reload before the copy's other queued writes land would miss them
+                    if (hot.pendingWrites.get() > 0) {
+                        throw new IllegalStateException("Session is being reloaded, please retry: " + sessionCode);
+                    }
+                    evict(sessionCode, hot);
+                    continue;
+                }
+                hot.touch();
+                return Optional.ofNullable(action.apply(hot));
+            } finally {
+                hot.lock.unlock();
+            }
+        }
+    }
+
+    private HotSession acquire(String sessionCode) {
+        HotSession hot = sessions.get(sessionCode);
+        if (hot != null || sessions.size() >= maxSessions) {
+            return hot;
+        }
+
+        HotSession loaded = loadTx.execute(status -> load(sessionCode));
+        if (loaded == null) {
+            return null;
+        }
+        HotSession existing = sessions.putIfAbsent(sessionCode, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        loaded.restaurants.forEach(restaurant -> restaurantSessions.put(restaurant.getId(), sessionCode));
+        return loaded;
+    }
+
+    private HotSession load(String sessionCode) {
+        Optional<Session> sessionOpt = sessionRepo.findBySessionCode(sessionCode);
+        if (sessionOpt.isEmpty() || sessionOpt.get().isLocked()) {
+            return null;
+        }
+        Session session = sessionOpt.get();
+        session.setInitiator(Hibernate.unproxy(session.getInitiator(), User.class));
+        List<Restaurant> restaurants = restaurantRepo.findBySessionOrderBySubmittedAtAsc(session);
+        Map<Long, List<String>> mergedSubmitters = submitterRepo.findBySessionId(session.getId()).stream()
+                .collect(Collectors.groupingBy(RestaurantSubmitterRepository.SubmitterView::getRestaurantId,
+                        Collectors.mapping(RestaurantSubmitterRepository.SubmitterView::getUsername, Collectors.toList())));
+        return new HotSession(session, restaurants, mergedSubmitters);
+    }
+
+    @Scheduled(fixedDelayString = "${app.hot-sessions.evict-interval-ms:60000}")
+    public void evictIdleSessions() {
+        if (!enabled) {
+            return;
+        }
+        long idleBefore = System.currentTimeMillis() - idleEvictMs;
+        List<String> evicted = new ArrayList<>();
+        sessions.forEach((sessionCode, hot) -> {
+            if (!hot.lock.tryLock()) {
+                return;
+            }
+            try {
+                boolean idle = hot.session.isLocked() || hot.lastAccess < idleBefore;
+                // never drop state that still has writes in flight, a reload would miss them
+                if (idle && hot.pendingWrites.get() == 0) {
+                    evict(sessionCode, hot);
+                    evicted.add(sessionCode);
+                }
+            } finally {
+                hot.lock.unlock();
+            }
+        });
+        if (!evicted.isEmpty()) {
+            logger.debug("Evicted {} hot sessions, {} remain", evicted.size(), sessions.size());
+        }
+    }
+
+    // the rows are gone, a copy left here would keep serving the session and writing to them
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionsArchived(SessionsArchivedEvent event) {
+        for (String sessionCode : event.sessionCodes()) {
+            HotSession hot = sessions.get(sessionCode);
+            if (hot == null) {
+                continue;
+            }
+            hot.lock.lock();
+            try {
+                evict(sessionCode, hot);
+            } finally {
+                hot.lock.unlock();
+            }
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,270 @@
+package com.eatwhat.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Radix tree over normalized restaurant names, ranked by how often each name was
+ * submitted. Edge labels are offsets into the stored keys rather than strings of
+ * their own, and only nodes with more than k names below them cache their top k,
+ * so most nodes are a handful of ints. A lookup walks the prefix and reads that
+ * cached list, or ranks the at most k names of a small subtree directly.
+ * <p>
+ * Counts only grow, so one check per node on the inserted path keeps each cached
+ * list exact. Not thread-safe, {@link RestaurantSuggestionService} guards it.
+ */
+final class PrefixIndex {
+
+    private final int k;
+    private final Node root = new Node(-1, 0, 0);
+
+    private String[] keys = new String[1024];
+    private String[] names = new String[1024];
+    private int[] counts = new int[1024];
+    private int size;
+    private int nodeCount = 1;
+
+    PrefixIndex(int k) {
+        this.k = k;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int nodeCount() {
+        return nodeCount;
+    }
+
+    // adds to the frequency of a key, inserting it with this display name on first sight
+    void add(String key, String name, int count) {
+        if (key.isEmpty()) {
+            return;
+        }
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int created = -1;
+        int i = 0;
+        while (i < key.length()) {
+            int index = node.childIndex(key.charAt(i));
+            if (index < 0) {
+                created = newEntry(key, name);
+                Node leaf = new Node(created, i, key.length());
+                node.addChild(key.charAt(i), leaf);
+                nodeCount++;
+                node = leaf;
+                path.add(node);
+                break;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child, key, i);
+            if (common < child.length()) {
+                node.children[index] = split(child, common);
+                child = node.children[index];
+            }
+            node = child;
+            path.add(node);
+            i += common;
+        }
+
+        if (node.entry < 0) {
+            node.entry = created >= 0 ? created : newEntry(key, name);
+            path.forEach(visited -> visited.size++);
+        }
+        counts[node.entry] += count;
+        for (Node visited : path) {
+            offer(visited, node.entry);
+        }
+    }
+
+    // best first, at most limit and never more than k
+    List<String> suggest(String prefix, int limit) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            int index = node.childIndex(prefix.charAt(i));
+            if (index < 0) {
+                return List.of();
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child, prefix, i);
+            if (i + common == prefix.length()) {
+                node = child;
+                break;
+            }
+            if (common < child.length()) {
+                return List.of();
+            }
+            node = child;
+            i += common;
+        }
+
+        int[] top = node.top != null ? node.top : rank(node);
+        List<String> suggestions = new ArrayList<>(Math.min(limit, top.length));
+        for (int j = 0; j < top.length && suggestions.size() < limit; j++) {
+            suggestions.add(names[top[j]]);
+        }
+        return suggestions;
+    }
+
+    int count(String key) {
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            int index = node.childIndex(key.charAt(i));
+            if (index < 0) {
+                return 0;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child, key, i);
+            if (common < child.length()) {
+                return 0;
+            }
+            node = child;
+            i += common;
+        }
+        return node.entry < 0 ? 0 : counts[node.entry];
+    }
+
+    private int newEntry(String key, String name) {
+        if (size == keys.length) {
+            int capacity = size * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            names = Arrays.copyOf(names, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        keys[size] = key;
+        names[size] = name;
+        return size++;
+    }
+
+    // the upper part of the edge becomes a new node that takes over the child's place
+    private Node split(Node child, int length) {
+        Node upper = new Node(child.labelEntry, child.start, child.start + length);
+        child.start += length;
+        upper.addChild(keys[child.labelEntry].charAt(child.start), child);
+        upper.size = child.size;
+        upper.top = child.top == null ? null : child.top.clone();
+        nodeCount++;
+        return upper;
+    }
+
+    private int commonPrefix(Node node, String key, int from) {
+        String label = keys[node.labelEntry];
+        int max = Math.min(node.length(), key.length() - from);
+        int i = 0;
+        while (i < max && label.charAt(node.start + i) == key.charAt(from + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private void offer(Node node, int entry) {
+        if (node.size <= k) {
+            return;
+        }
+        if (node.top == null) {
+            // just grew past k, rank its names once
+            node.top = rank(node);
+            return;
+        }
+        int[] top = node.top;
+        int position = -1;
+        for (int i = 0; i < top.length; i++) {
+            if (top[i] == entry) {
+                position = i;
+                break;
+            }
+        }
+        if (position < 0) {
+            if (!ranksBefore(entry, top[top.length - 1])) {
+                return;
+            }
+            position = top.length - 1;
+            top[position] = entry;
+        }
+        while (position > 0 && ranksBefore(top[position], top[position - 1])) {
+            int swap = top[position];
+            top[position] = top[position - 1];
+            top[--position] = swap;
+        }
+    }
+
+    // the best k names of a subtree, by walking it
+    private int[] rank(Node node) {
+        List<Integer> entries = new ArrayList<>();
+        collect(node, entries);
+        return entries.stream()
+                .sorted((a, b) -> ranksBefore(a, b) ? -1 : ranksBefore(b, a) ? 1 : 0)
+                .limit(k)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private void collect(Node node, List<Integer> entries) {
+        if (node.entry >= 0) {
+            entries.add(node.entry);
+        }
+        if (node.children != null) {
+            for (Node child : node.children) {
+                collect(child, entries);
+            }
+        }
+    }
+
+    // more frequent first, then alphabetical so equal counts list in a stable order
+    private boolean ranksBefore(int a, int b) {
+        if (counts[a] != counts[b]) {
+            return counts[a] > counts[b];
+        }
+        return keys[a].compareTo(keys[b]) < 0;
+    }
+
+    private static final class Node {
+        // the label is keys[labelEntry].substring(start, end)
+        final int labelEntry;
+        int start;
+        final int end;
+        int entry = -1;
+        int size;
+        char[] childChars;
+        Node[] children;
+        int[] top;
+
+        Node(int labelEntry, int start, int end) {
+            this.labelEntry = labelEntry;
+            this.start = start;
+            this.end = end;
+        }
+
+        int length() {
+            return end - start;
+        }
+
+        int childIndex(char c) {
+            return childChars == null ? -1 : Arrays.binarySearch(childChars, c);
+        }
+
+        void addChild(char c, Node child) {
+            if (childChars == null) {
+                childChars = new char[] {c};
+                children = new Node[] {child};
+                return;
+            }
+            int insertAt = -Arrays.binarySearch(childChars, c) - 1;
+            char[] chars = new char[childChars.length + 1];
+            Node[] nodes = new Node[children.length + 1];
+            System.arraycopy(childChars, 0, chars, 0, insertAt);
+            System.arraycopy(children, 0, nodes, 0, insertAt);
+            chars[insertAt] = c;
+            nodes[insertAt] = child;
+            System.arraycopy(childChars, insertAt, chars, insertAt + 1, childChars.length - insertAt);
+            System.arraycopy(children, insertAt, nodes, insertAt + 1, children.length - insertAt);
+            childChars = chars;
+            children = nodes;
+        }
+    }
+
+}
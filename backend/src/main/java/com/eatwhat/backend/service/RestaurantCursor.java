@@ -0,0 +1,45 @@
+package com.eatwhat.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+
+import com.eatwhat.backend.model.Restaurant;
+
+/**
+ * Keyset position in a session's restaurant list, ordered by (submittedAt, id).
+ * Handed to clients as an opaque url-safe string.
+ */
+record RestaurantCursor(LocalDateTime submittedAt, Long id) {
+
+    static final Comparator<Restaurant> ORDER = Comparator.comparing(Restaurant::getSubmittedAt)
+            .thenComparing(Restaurant::getId);
+
+    static RestaurantCursor after(Restaurant restaurant) {
+        return new RestaurantCursor(restaurant.getSubmittedAt(), restaurant.getId());
+    }
+
+    boolean isBefore(Restaurant restaurant) {
+        int bySubmittedAt = restaurant.getSubmittedAt().compareTo(submittedAt);
+        return bySubmittedAt > 0 || (bySubmittedAt == 0 && restaurant.getId() > id);
+    }
+
+    String encode() {
+        String raw = submittedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static RestaurantCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new RestaurantCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+}
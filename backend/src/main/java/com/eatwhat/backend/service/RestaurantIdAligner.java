@@ -0,0 +1,48 @@
+package com.eatwhat.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.eatwhat.backend.model.Restaurant;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Restaurant ids used to come from AUTO_INCREMENT. The V2 migration starts the
+ * restaurants_seq table that replaced it just past the highest existing id, but with
+ * the pooled optimizer a read value v hands out ids from v - allocationSize + 1, so
+ * before the first insert it is moved a further allocation size along.
+ */
+@Component
+public class RestaurantIdAligner {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantIdAligner.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // migrations run before the EntityManagerFactory is built, so the table exists by now
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void align() {
+        try {
+            int updated = jdbcTemplate.update(
+                    "update restaurants_seq set next_val = (select coalesce(max(id), 0) + ? from restaurants) "
+                    + "where next_val < (select coalesce(max(id), 0) + ? from restaurants)",
+                    Restaurant.ID_ALLOCATION_SIZE, Restaurant.ID_ALLOCATION_SIZE);
+            if (updated > 0) {
+                logger.info("Moved restaurants_seq past existing restaurant ids");
+            }
+        } catch (DataAccessException e) {
+            logger.error("Could not align restaurants_seq with existing restaurant ids", e);
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.eatwhat.backend.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.eatwhat.backend.event.RestaurantAddedEvent;
+import com.eatwhat.backend.event.RestaurantDeletedEvent;
+import com.eatwhat.backend.event.SessionLockedEvent;
+import com.eatwhat.backend.event.SessionsArchivedEvent;
+import com.eatwhat.backend.repository.RestaurantRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Normalized name to restaurant id for the sessions submitted to through the JPA
+ * path, so a duplicate is recognised without a query. The index is only a hint:
+ * the unique (session_id, normalized_name) key decides, and a stale entry or a
+ * row added on another instance is corrected when the write finds out.
+ */
+@Component
+public class RestaurantNameIndex {
+
+    @Autowired
+    private RestaurantRepository restaurantRepo;
+
+    @Value("${app.name-index.max-sessions:10000}")
+    private int maxSessions;
+
+    private Map<String, Map<String, Long>> sessions;
+
+    @PostConstruct
+    public void init() {
+        sessions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, Long>> eldest) {
+                return size() > maxSessions;
+            }
+        };
+    }
+
+    // null when no restaurant in the session has this name
+    Long find(String sessionCode, Long sessionId, String normalizedName) {
+        Map<String, Long> names;
+        synchronized (sessions) {
+            names = sessions.get(sessionCode);
+        }
+        if (names == null) {
+            names = new ConcurrentHashMap<>();
+            for (RestaurantRepository.NameView name : restaurantRepo.findNamesBySessionId(sessionId)) {
+                names.put(name.getNormalizedName(), name.getId());
+            }
+            synchronized (sessions) {
+                sessions.putIfAbsent(sessionCode, names);
+            }
+        }
+        return names.get(normalizedName);
+    }
+
+    void evict(String sessionCode) {
+        synchronized (sessions) {
+            sessions.remove(sessionCode);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantAdded(RestaurantAddedEvent event) {
+        Map<String, Long> names;
+        synchronized (sessions) {
+            names = sessions.get(event.sessionCode());
+        }
+        if (names != null && event.restaurant().getNormalizedName() != null) {
+            names.put(event.restaurant().getNormalizedName(), event.restaurant().getId());
+        }
+    }
+
+    // deletes are rare, dropping the session is simpler than keeping a reverse map
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantDeleted(RestaurantDeletedEvent event) {
+        evict(event.sessionCode());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionLocked(SessionLockedEvent event) {
+        evict(event.sessionCode());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionsArchived(SessionsArchivedEvent event) {
+        event.sessionCodes().forEach(this::evict);
+    }
+
+}
@@ -1,89 +1,478 @@
 package com.eatwhat.backend.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.eatwhat.backend.dto.RestaurantChangesResponse;
+import com.eatwhat.backend.dto.RestaurantPageResponse;
+
+import com.eatwhat.backend.event.RestaurantAddedEvent;
+import com.eatwhat.backend.event.RestaurantDeletedEvent;
+import com.eatwhat.backend.event.RestaurantMergedEvent;
+import com.eatwhat.backend.event.SessionLockedEvent;
 import com.eatwhat.backend.model.Restaurant;
+import com.eatwhat.backend.model.RestaurantTombstone;
 import com.eatwhat.backend.model.Session;
 import com.eatwhat.backend.repository.RestaurantRepository;
+import com.eatwhat.backend.repository.RestaurantRow;
+import com.eatwhat.backend.repository.RestaurantSubmitterRepository;
+import com.eatwhat.backend.repository.RestaurantTombstoneRepository;
+import com.eatwhat.backend.repository.SessionMetadata;
+import com.eatwhat.backend.repository.SessionRepository;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 
 @Service
+@Timed("service.calls")
 public class RestaurantService {
     
     @Autowired
     private RestaurantRepository restaurantRepo;
     
+    @Autowired
+    private RestaurantTombstoneRepository tombstoneRepo;
+
+    @Autowired
+    private RestaurantSubmitterRepository submitterRepo;
+
+    @Autowired
+    private SessionRepository sessionRepo;
+    
     @Autowired
     private SessionService sessionSvc;
 
+    @Autowired
+    private HotSessionEngine hotSessions;
+
+    @Autowired
+    private VoteService voteSvc;
+
+    @Autowired
+    private WeightedDrawCache weightedDraws;
+
+    @Autowired
+    private RestaurantNameIndex nameIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static final int DRAW_ATTEMPTS = 3;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantService.class);
+
     private final Random random = new Random();
 
+    private TransactionTemplate txTemplate;
+    private TransactionTemplate readTx;
+
+    @PostConstruct
+    public void init() {
+        txTemplate = new TransactionTemplate(transactionManager);
+        readTx = new TransactionTemplate(transactionManager);
+        readTx.setReadOnly(true);
+    }
+
     public Restaurant submitRestaurant(String sessionCode, String restaurantName, String submittedBy) {
-        Optional<Session> sessionOpt = sessionSvc.getSessionByCode(sessionCode);
-        if (!sessionOpt.isPresent()) {
-            throw new IllegalArgumentException("Session not found: " + sessionCode);
+        return submitRestaurant(sessionCode, restaurantName, submittedBy, Restaurant.DEFAULT_WEIGHT);
+    }
+
+    public Restaurant submitRestaurant(String sessionCode, String restaurantName, String submittedBy, int weight) {
+        if (weight < Restaurant.DEFAULT_WEIGHT || weight > Restaurant.MAX_WEIGHT) {
+            throw new IllegalArgumentException("Weight must be between 1 and " + Restaurant.MAX_WEIGHT);
         }
-        
-        Session session = sessionOpt.get();
+        String normalizedName = requireNormalizedName(restaurantName);
+
+        RestaurantSubmission submission = hotSessions.submitRestaurant(sessionCode, restaurantName, submittedBy, weight)
+                .orElseGet(() -> submitToDatabase(sessionCode, restaurantName, normalizedName, submittedBy, weight));
+        publish(sessionCode, submission);
+        return submission.restaurant();
+    }
 
-        if (session.isLocked()) {
-            throw new IllegalStateException("Cannot submit restaurants to locked session: " + sessionCode);
+    // one session check and one version reservation for all new names, rows go out as JDBC batches
+    public List<Restaurant> submitRestaurants(String sessionCode, List<String> restaurantNames, String submittedBy) {
+        if (restaurantNames == null || restaurantNames.isEmpty()) {
+            throw new IllegalArgumentException("At least one restaurant name is required");
+        }
+        if (restaurantNames.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " restaurants can be submitted at once");
+        }
+        // repeats inside the list collapse onto their first spelling
+        Map<String, String> distinct = new LinkedHashMap<>();
+        for (String name : restaurantNames) {
+            distinct.putIfAbsent(requireNormalizedName(name), name);
         }
 
-        Restaurant restaurant = new Restaurant(restaurantName, submittedBy, session);
-        return restaurantRepo.save(restaurant);
+        List<RestaurantSubmission> submissions = hotSessions
+                .submitRestaurants(sessionCode, List.copyOf(distinct.values()), submittedBy)
+                .orElseGet(() -> submitAllToDatabase(sessionCode, distinct, submittedBy));
+        submissions.forEach(submission -> publish(sessionCode, submission));
+        return submissions.stream().map(RestaurantSubmission::restaurant).toList();
+    }
+
+    private RestaurantSubmission submitToDatabase(String sessionCode, String restaurantName, String normalizedName,
+                                                  String submittedBy, int weight) {
+        SessionMetadata session = sessionSvc.requireSessionMetadata(sessionCode);
+        Long existingId = nameIndex.find(sessionCode, session.id(), normalizedName);
+        if (existingId != null) {
+            Optional<RestaurantSubmission> merged = mergeSubmission(sessionCode, existingId, submittedBy);
+            if (merged.isPresent()) {
+                return merged.get();
+            }
+            // deleted since it was indexed
+            nameIndex.evict(sessionCode);
+        }
+
+        try {
+            Restaurant restaurant = txTemplate.execute(status -> {
+                // the guard both rejects locked sessions and hands out the version, no session entity is loaded
+                SessionRepository.SessionVersionView version = sessionSvc.nextSubmitVersions(sessionCode, submittedBy, 1);
+
+                Restaurant submitted = new Restaurant(restaurantName, submittedBy, sessionRepo.getReferenceById(version.getId()));
+                submitted.setAddedVersion(version.getVersion());
+                submitted.setWeight(weight);
+                return restaurantRepo.save(submitted);
+            });
+            return RestaurantSubmission.added(restaurant);
+        } catch (DataIntegrityViolationException e) {
+            // lost to the same name submitted elsewhere, the unique key is the tie breaker
+            Long winnerId = restaurantRepo.findIdByNormalizedName(session.id(), normalizedName).orElseThrow(() -> e);
+            return mergeSubmission(sessionCode, winnerId, submittedBy).orElseThrow(() -> e);
+        }
+    }
+
+    private List<RestaurantSubmission> submitAllToDatabase(String sessionCode, Map<String, String> names,
+                                                           String submittedBy) {
+        SessionMetadata session = sessionSvc.requireSessionMetadata(sessionCode);
+        List<String> fresh = new ArrayList<>();
+        for (Map.Entry<String, String> name : names.entrySet()) {
+            if (nameIndex.find(sessionCode, session.id(), name.getKey()) == null) {
+                fresh.add(name.getValue());
+            }
+        }
+
+        Map<String, RestaurantSubmission> submitted = new HashMap<>();
+        if (!fresh.isEmpty()) {
+            try {
+                List<Restaurant> inserted = txTemplate.execute(status -> {
+                    SessionRepository.SessionVersionView version =
+                            sessionSvc.nextSubmitVersions(sessionCode, submittedBy, fresh.size());
+                    Session reference = sessionRepo.getReferenceById(version.getId());
+
+                    long next = version.getVersion() - fresh.size();
+                    List<Restaurant> restaurants = new ArrayList<>(fresh.size());
+                    for (String name : fresh) {
+                        Restaurant restaurant = new Restaurant(name, submittedBy, reference);
+                        restaurant.setAddedVersion(++next);
+                        restaurants.add(restaurant);
+                    }
+                    return restaurantRepo.saveAll(restaurants);
+                });
+                inserted.forEach(restaurant ->
+                        submitted.put(restaurant.getNormalizedName(), RestaurantSubmission.added(restaurant)));
+            } catch (DataIntegrityViolationException e) {
+                // a name arrived elsewhere meanwhile, the one-by-one path below sorts out which
+                nameIndex.evict(sessionCode);
+            }
+        }
+
+        // names that already existed, or the whole list after a lost race
+        List<RestaurantSubmission> submissions = new ArrayList<>(names.size());
+        names.forEach((normalizedName, name) -> submissions.add(submitted.containsKey(normalizedName)
+                ? submitted.get(normalizedName)
+                : submitToDatabase(sessionCode, name, normalizedName, submittedBy, Restaurant.DEFAULT_WEIGHT)));
+        return submissions;
+    }
+
+    // empty when the restaurant is gone; the original submitter or a repeat changes nothing
+    private Optional<RestaurantSubmission> mergeSubmission(String sessionCode, Long restaurantId, String submittedBy) {
+        return txTemplate.execute(status -> {
+            Optional<Restaurant> existing = restaurantRepo.findById(restaurantId);
+            if (existing.isEmpty()) {
+                return Optional.empty();
+            }
+            Restaurant restaurant = existing.get();
+            Long sessionId = restaurant.getSession().getId();
+            if (restaurant.getSubmittedBy().equals(submittedBy)
+                    || submitterRepo.addSubmitter(sessionId, restaurantId, submittedBy, LocalDateTime.now()) == 0) {
+                if (sessionSvc.isSessionLocked(sessionCode)) {
+                    throw new IllegalStateException("Cannot submit restaurants to locked session: " + sessionCode);
+                }
+                return Optional.of(RestaurantSubmission.unchanged(restaurant));
+            }
+
+            // rejects a locked session, which rolls the submitter row back with it
+            SessionRepository.SessionVersionView version = sessionSvc.nextSubmitVersions(sessionCode, submittedBy, 1);
+            restaurantRepo.incrementSubmitterCount(restaurantId);
+            Restaurant merged = restaurantRepo.findById(restaurantId).orElseThrow();
+            return Optional.of(RestaurantSubmission.merged(merged, version.getVersion()));
+        });
+    }
+
+    private void publish(String sessionCode, RestaurantSubmission submission) {
+        switch (submission.outcome()) {
+            case ADDED -> eventPublisher.publishEvent(new RestaurantAddedEvent(sessionCode, submission.restaurant()));
+            case MERGED -> eventPublisher.publishEvent(
+                    new RestaurantMergedEvent(sessionCode, submission.restaurant(), submission.version()));
+            case UNCHANGED -> { }
+        }
+    }
+
+    private static String requireNormalizedName(String restaurantName) {
+        if (restaurantName == null || restaurantName.isBlank()) {
+            throw new IllegalArgumentException("Restaurant name is required");
+        }
+        String normalizedName = Restaurant.normalizeName(restaurantName);
+        if (normalizedName.isEmpty()) {
+            throw new IllegalArgumentException("Restaurant name must contain a letter or digit");
+        }
+        return normalizedName;
     }
 
     public List<Restaurant> getRestaurantsBySession(String sessionCode) {
-        Optional<Session> sessionOpt = sessionSvc.getSessionByCode(sessionCode);
-        if (sessionOpt.isEmpty()) {
-            throw new IllegalArgumentException("Session not found: " + sessionCode);
+        Optional<List<Restaurant>> hot = hotSessions.getRestaurants(sessionCode);
+        if (hot.isPresent()) {
+            return hot.get();
         }
-        return restaurantRepo.findBySessionOrderBySubmittedAtAsc(sessionOpt.get());
+
+        SessionMetadata session = sessionSvc.requireSessionMetadata(sessionCode);
+        return readTx.execute(status ->
+                restaurantRepo.findBySessionOrderBySubmittedAtAsc(sessionRepo.getReferenceById(session.id())));
+    }
+
+    public RestaurantPageResponse getRestaurantPage(String sessionCode, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        RestaurantCursor after = cursor == null || cursor.isEmpty() ? null : RestaurantCursor.decode(cursor);
+
+        List<Restaurant> rows = hotSessions.getRestaurantPage(sessionCode, after, limit).orElseGet(() -> {
+            SessionMetadata session = sessionSvc.requireSessionMetadata(sessionCode);
+            PageRequest page = PageRequest.of(0, limit + 1);
+            return readTx.execute(status -> after == null
+                    ? restaurantRepo.findFirstPage(session.id(), page)
+                    : restaurantRepo.findPageAfter(session.id(), after.submittedAt(), after.id(), page));
+        });
+
+        if (rows.size() <= limit) {
+            return new RestaurantPageResponse(rows, null);
+        }
+        List<Restaurant> restaurants = rows.subList(0, limit);
+        return new RestaurantPageResponse(restaurants, RestaurantCursor.after(restaurants.get(limit - 1)).encode());
+    }
+
+    // hands rows to the consumer as they arrive from the database, nothing is collected
+    public void forEachRestaurant(String sessionCode, Consumer<RestaurantRow> action) {
+        Optional<List<Restaurant>> hot = hotSessions.getRestaurants(sessionCode);
+        if (hot.isPresent()) {
+            hot.get().forEach(restaurant -> action.accept(RestaurantRow.of(restaurant)));
+            return;
+        }
+
+        SessionMetadata session = sessionSvc.requireSessionMetadata(sessionCode);
+        readTx.executeWithoutResult(status -> {
+            try (Stream<RestaurantRow> rows = restaurantRepo.streamBySessionId(session.id())) {
+                rows.forEach(action);
+            }
+        });
+    }
+
+    public RestaurantChangesResponse getRestaurantChanges(String sessionCode, long sinceVersion) {
+        Optional<RestaurantChangesResponse> hot = hotSessions.getChanges(sessionCode, sinceVersion);
+        if (hot.isPresent()) {
+            return hot.get();
+        }
+
+        // one read-only transaction so the version and both queries come from the same snapshot
+        return readTx.execute(status -> {
+            SessionMetadata metadata = sessionSvc.requireSessionMetadata(sessionCode);
+            Session session = sessionRepo.getReferenceById(metadata.id());
+            long version = sessionRepo.findVersionById(metadata.id());
+
+            if (sinceVersion == version) {
+                return RestaurantChangesResponse.unchanged(version);
+            }
+            if (sinceVersion < 0 || sinceVersion > version) {
+                return RestaurantChangesResponse.full(version, restaurantRepo.findBySessionOrderBySubmittedAtAsc(session));
+            }
+
+            List<Restaurant> added = restaurantRepo
+                    .findBySessionAndAddedVersionGreaterThanOrderBySubmittedAtAsc(session, sinceVersion);
+            List<Long> removedIds = tombstoneRepo.findRemovedRestaurantIds(metadata.id(), sinceVersion);
+            return RestaurantChangesResponse.delta(version, added, removedIds);
+        });
     }
 
     public Restaurant getRandomRestaurant(String sessionCode) {
-        Optional<Session> sessionOpt = sessionSvc.getSessionByCode(sessionCode);
-        if (sessionOpt.isEmpty()) {
-            throw new IllegalArgumentException("Session not found: " + sessionCode);
+        return drawAndLock(sessionCode,
+                candidates -> candidates.get(random.nextInt(candidates.size())),
+                this::drawRestaurant);
+    }
+
+    // the restaurant with the most votes wins, ties and a session without votes are decided at random
+    public Restaurant getTopVotedRestaurant(String sessionCode) {
+        // counted from the restaurant rows before the lock, so votes cast on every instance take part;
+        // a vote racing with the draw may or may not make it in
+        Map<Long, Long> tallies = voteSvc.getFlushedTallies(sessionCode);
+        return drawAndLock(sessionCode,
+                candidates -> pickTopVoted(candidates, tallies),
+                session -> drawTopVoted(session, tallies));
+    }
+
+    // weighted by name group, see WeightedDrawCache
+    public Restaurant getWeightedRestaurant(String sessionCode) {
+        return drawAndLock(sessionCode,
+                candidates -> pickWeighted(sessionCode, candidates),
+                this::drawWeighted);
+    }
+
+    // a weighted draw that locks nothing, served from the cached alias table
+    public Restaurant previewWeightedRestaurant(String sessionCode) {
+        return weightedDraws.sample(sessionCode, () -> getRestaurantsBySession(sessionCode), random);
+    }
+
+    private Restaurant drawAndLock(String sessionCode, Function<List<Restaurant>, Restaurant> hotPicker,
+                                   Function<SessionMetadata, Restaurant> draw) {
+        Optional<SessionLockedEvent> hot = hotSessions.drawAndLock(sessionCode, hotPicker);
+        if (hot.isPresent()) {
+            eventPublisher.publishEvent(hot.get());
+            return hot.get().randomRestaurant();
         }
 
-        Session session = sessionOpt.get();
-        List<Restaurant> restaurants = restaurantRepo.findBySession(session);
-        
-        if (restaurants.isEmpty()) {
-            throw new IllegalStateException("No restaurants available in session: " + sessionCode);
+        SessionLockedEvent locked = txTemplate.execute(status -> {
+            SessionMetadata session = sessionSvc.requireSessionMetadata(sessionCode);
+            Restaurant picked = draw.apply(session);
+
+            // loses cleanly to a concurrent draw or lock instead of overwriting its pick
+            long version = sessionSvc.lockIfActive(session, picked);
+            return new SessionLockedEvent(sessionCode, picked, version);
+        });
+        eventPublisher.publishEvent(locked);
+        return locked.randomRestaurant();
+    }
+
+    private Restaurant pickTopVoted(List<Restaurant> candidates, Map<Long, Long> tallies) {
+        long top = 0;
+        List<Restaurant> leaders = new ArrayList<>();
+        for (Restaurant candidate : candidates) {
+            long votes = tallies.getOrDefault(candidate.getId(), 0L);
+            if (votes > top) {
+                top = votes;
+                leaders.clear();
+            }
+            if (votes == top) {
+                leaders.add(candidate);
+            }
         }
+        return leaders.get(random.nextInt(leaders.size()));
+    }
 
-        // Select random restaurant
-        int randomIndex = random.nextInt(restaurants.size());
-        Restaurant randomRestaurant = restaurants.get(randomIndex);
-        
-        // Lock session with the selected random restaurant
-        sessionSvc.lockSession(sessionCode, randomRestaurant);
+    // runs under the hot session lock, so the candidates are exactly what is there
+    private Restaurant pickWeighted(String sessionCode, List<Restaurant> candidates) {
+        Restaurant picked = weightedDraws.sample(sessionCode, () -> new ArrayList<>(candidates), random);
+        for (Restaurant candidate : candidates) {
+            if (candidate.getId().equals(picked.getId())) {
+                return candidate;
+            }
+        }
+        // the cached table was behind the session, rebuild it from the candidates
+        weightedDraws.invalidate(sessionCode);
+        return weightedDraws.sample(sessionCode, () -> new ArrayList<>(candidates), random);
+    }
+
+    private Restaurant drawWeighted(SessionMetadata session) {
+        for (int attempt = 0; attempt < DRAW_ATTEMPTS; attempt++) {
+            Restaurant picked = weightedDraws.sample(session.sessionCode(),
+                    () -> restaurantRepo.findBySessionOrderBySubmittedAtAsc(sessionRepo.getReferenceById(session.id())),
+                    random);
+            Optional<Restaurant> restaurant = restaurantRepo.findByIdForShare(picked.getId());
+            if (restaurant.isPresent()) {
+                return restaurant.get();
+            }
+            // the cached table still had a deleted restaurant
+            weightedDraws.invalidate(session.sessionCode());
+        }
+        throw new IllegalStateException("Restaurants changed during the draw, please retry: " + session.sessionCode());
+    }
 
-        return randomRestaurant;
+    private Restaurant drawTopVoted(SessionMetadata session, Map<Long, Long> tallies) {
+        // leaders deleted after the tallies were read drop out one by one, the next best takes their place
+        while (!tallies.isEmpty()) {
+            long top = Collections.max(tallies.values());
+            List<Long> leaders = tallies.entrySet().stream()
+                    .filter(entry -> entry.getValue() == top)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            Long id = leaders.get(random.nextInt(leaders.size()));
+            Optional<Restaurant> restaurant = restaurantRepo.findByIdForShare(id);
+            if (restaurant.isPresent()) {
+                return restaurant.get();
+            }
+            tallies.remove(id);
+        }
+        // no voted restaurant is left
+        return drawRestaurant(session);
+    }
+
+    // count plus offset on the session index, so only the chosen row is ever loaded
+    private Restaurant drawRestaurant(SessionMetadata session) {
+        for (int attempt = 0; attempt < DRAW_ATTEMPTS; attempt++) {
+            long count = restaurantRepo.countBySession(sessionRepo.getReferenceById(session.id()));
+            if (count == 0) {
+                throw new IllegalStateException("No restaurants available in session: " + session.sessionCode());
+            }
+
+            int offset = random.nextInt(Math.toIntExact(count));
+            List<Long> ids = restaurantRepo.findIdsBySessionId(session.id(), PageRequest.of(offset, 1));
+            if (!ids.isEmpty()) {
+                Optional<Restaurant> restaurant = restaurantRepo.findByIdForShare(ids.get(0));
+                if (restaurant.isPresent()) {
+                    return restaurant.get();
+                }
+            }
+            // the pick was deleted between the count and the row lock, draw again
+        }
+        throw new IllegalStateException("Restaurants changed during the draw, please retry: " + session.sessionCode());
     }
 
     public long getRestaurantCount(String sessionCode) {
-        Optional<Session> sessionOpt = sessionSvc.getSessionByCode(sessionCode);
-        if (sessionOpt.isEmpty()) {
-            throw new IllegalArgumentException("Session not found: " + sessionCode);
+        Optional<Long> hot = hotSessions.getRestaurantCount(sessionCode);
+        if (hot.isPresent()) {
+            return hot.get();
         }
 
-        return restaurantRepo.countBySession(sessionOpt.get());
+        SessionMetadata session = sessionSvc.requireSessionMetadata(sessionCode);
+        Long count = readTx.execute(status -> restaurantRepo.countBySession(sessionRepo.getReferenceById(session.id())));
+        return count == null ? 0 : count;
     }
 
     public String getFirstSubmitter(String sessionCode) {
-        List<Restaurant> restaurants = getRestaurantsBySession(sessionCode);
-        if (restaurants.isEmpty()) {
-            return null;
-        }
-        return restaurants.get(0).getSubmittedBy();
+        return sessionSvc.getFirstSubmitter(sessionCode);
     }
 
     // Check in controller before getRandomRestaurant
@@ -93,24 +482,43 @@ public class RestaurantService {
     }
 
     public void deleteRestaurant(Long restaurantId, String username) {
+        Optional<RestaurantDeletedEvent> hot = hotSessions.deleteRestaurant(restaurantId, username);
+        if (hot.isPresent()) {
+            eventPublisher.publishEvent(hot.get());
+            return;
+        }
+
+        RestaurantDeletedEvent deleted = txTemplate.execute(status -> {
+            // submitter and session status are checked by the guarded version bump itself
+            if (sessionRepo.incrementVersionForRestaurantIfActive(restaurantId, username) == 0) {
+                throw rejectedDelete(restaurantId);
+            }
+            SessionRepository.SessionVersionView session = sessionRepo.findVersionViewByRestaurantId(restaurantId)
+                    .orElseThrow();
+
+            restaurantRepo.deleteAllByIdInBatch(List.of(restaurantId));
+            submitterRepo.deleteByRestaurantId(restaurantId);
+            sessionRepo.refreshFirstSubmitter(session.getId(), username);
+            tombstoneRepo.save(new RestaurantTombstone(session.getId(), restaurantId, session.getVersion()));
+            return new RestaurantDeletedEvent(session.getSessionCode(), restaurantId, session.getVersion());
+        });
+        eventPublisher.publishEvent(deleted);
+    }
+
+    // only runs once the guarded delete has matched no row, to report which check failed
+    private RuntimeException rejectedDelete(Long restaurantId) {
         Optional<Restaurant> restaurantOpt = restaurantRepo.findById(restaurantId);
         if (restaurantOpt.isEmpty()) {
-            throw new IllegalArgumentException("Restaurant not found: " + restaurantId);
+            return new IllegalArgumentException("Restaurant not found: " + restaurantId);
         }
 
-        Restaurant restaurant = restaurantOpt.get();
-        
         // Check if session is locked
-        if (restaurant.getSession().isLocked()) {
-            throw new IllegalStateException("Cannot delete restaurants from locked session");
-        }
-
-        // Check if user is the submitter
-        if (!restaurant.getSubmittedBy().equals(username)) {
-            throw new IllegalArgumentException("Only the submitter can delete this restaurant");
+        if (restaurantOpt.get().getSession().isLocked()) {
+            return new IllegalStateException("Cannot delete restaurants from locked session");
         }
 
-        restaurantRepo.delete(restaurant);
+        // Otherwise the user is not the submitter
+        return new IllegalArgumentException("Only the submitter can delete this restaurant");
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.eatwhat.backend.service;
+
+import com.eatwhat.backend.model.Restaurant;
+
+/**
+ * Outcome of one submission: a new row, a merge into the restaurant that already
+ * had the name, or a repeat by someone already counted, which changes nothing.
+ */
+record RestaurantSubmission(Restaurant restaurant, Outcome outcome, long version) {
+
+    enum Outcome { ADDED, MERGED, UNCHANGED }
+
+    static RestaurantSubmission added(Restaurant restaurant) {
+        return new RestaurantSubmission(restaurant, Outcome.ADDED, restaurant.getAddedVersion());
+    }
+
+    static RestaurantSubmission merged(Restaurant restaurant, long version) {
+        return new RestaurantSubmission(restaurant, Outcome.MERGED, version);
+    }
+
+    static RestaurantSubmission unchanged(Restaurant restaurant) {
+        return new RestaurantSubmission(restaurant, Outcome.UNCHANGED, 0);
+    }
+
+}
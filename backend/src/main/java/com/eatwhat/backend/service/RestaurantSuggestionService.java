@@ -0,0 +1,148 @@
+package com.eatwhat.backend.service;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToIntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.eatwhat.backend.event.RestaurantAddedEvent;
+import com.eatwhat.backend.event.RestaurantMergedEvent;
+import com.eatwhat.backend.model.Restaurant;
+import com.eatwhat.backend.repository.RestaurantRepository;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Restaurant name autocomplete across all sessions, most often submitted first.
+ * The index is seeded from restaurants in the background after startup, serving
+ * whatever it has loaded so far, and every local submission or merge adds to it
+ * in place. Other instances' submissions show up after the next restart.
+ */
+@Service
+@Timed("service.calls")
+public class RestaurantSuggestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantSuggestionService.class);
+
+    @Autowired
+    private RestaurantRepository restaurantRepo;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.suggest.max-results:10}")
+    private int maxResults;
+
+    @Value("${app.suggest.load-batch-size:5000}")
+    private int loadBatchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private PrefixIndex index;
+
+    @PostConstruct
+    public void init() {
+        index = new PrefixIndex(maxResults);
+        meterRegistry.gauge("restaurant.suggest.names", this, service -> service.read(PrefixIndex::size));
+        meterRegistry.gauge("restaurant.suggest.nodes", this, service -> service.read(PrefixIndex::nodeCount));
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        if (limit < 1 || limit > maxResults) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxResults);
+        }
+        String key = Restaurant.normalizeName(prefix == null ? "" : prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return index.suggest(key, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // rows added from here on arrive as events, so the load stops at the current highest id
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLoading() {
+        Thread.ofPlatform().name("suggestion-loader").daemon().start(this::load);
+    }
+
+    private void load() {
+        try {
+            Long maxId = restaurantRepo.findMaxId();
+            long afterId = 0;
+            int rowCount = 0;
+            while (maxId != null) {
+                List<RestaurantRepository.SuggestionView> rows =
+                        restaurantRepo.findSuggestionRows(afterId, maxId, PageRequest.of(0, loadBatchSize));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                lock.writeLock().lock();
+                try {
+                    for (RestaurantRepository.SuggestionView row : rows) {
+                        add(row.getRestaurantName(), row.getSubmitterCount());
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                rowCount += rows.size();
+                afterId = rows.get(rows.size() - 1).getId();
+            }
+            logger.info("Loaded {} restaurants into name suggestions: {} names, {} nodes",
+                    rowCount, read(PrefixIndex::size), read(PrefixIndex::nodeCount));
+        } catch (RuntimeException e) {
+            // suggestions are a convenience, keep serving what was loaded and what comes in
+            logger.error("Loading name suggestions failed", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantAdded(RestaurantAddedEvent event) {
+        record(event.restaurant().getRestaurantName());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantMerged(RestaurantMergedEvent event) {
+        record(event.restaurant().getRestaurantName());
+    }
+
+    private void record(String restaurantName) {
+        lock.writeLock().lock();
+        try {
+            add(restaurantName, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // the first spelling seen is the one suggested
+    private void add(String restaurantName, int count) {
+        if (restaurantName != null) {
+            index.add(Restaurant.normalizeName(restaurantName), restaurantName.trim(), Math.max(count, 1));
+        }
+    }
+
+    private int read(ToIntFunction<PrefixIndex> metric) {
+        lock.readLock().lock();
+        try {
+            return metric.applyAsInt(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+}
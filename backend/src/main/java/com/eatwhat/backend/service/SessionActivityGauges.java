@@ -0,0 +1,66 @@
+package com.eatwhat.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eatwhat.backend.model.Session;
+import com.eatwhat.backend.repository.RestaurantRepository;
+import com.eatwhat.backend.repository.SessionRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Active sessions and the restaurants submitted to them, counted in the database
+ * every app.metrics.activity-refresh-ms. A scrape only reads the last counts, so
+ * scraping more often never adds queries.
+ */
+@Component
+public class SessionActivityGauges {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionActivityGauges.class);
+
+    @Autowired
+    private SessionRepository sessionRepo;
+
+    @Autowired
+    private RestaurantRepository restaurantRepo;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readTx;
+
+    private volatile long activeSessions;
+    private volatile long activeRestaurants;
+
+    @PostConstruct
+    public void init() {
+        readTx = new TransactionTemplate(transactionManager);
+        readTx.setReadOnly(true);
+        meterRegistry.gauge("sessions.active", this, gauges -> gauges.activeSessions);
+        meterRegistry.gauge("restaurants.active", this, gauges -> gauges.activeRestaurants);
+    }
+
+    @Scheduled(fixedDelayString = "${app.metrics.activity-refresh-ms:60000}")
+    public void refresh() {
+        try {
+            readTx.executeWithoutResult(status -> {
+                activeSessions = sessionRepo.countByStatus(Session.SessionStatus.ACTIVE);
+                activeRestaurants = restaurantRepo.countBySessionStatus(Session.SessionStatus.ACTIVE);
+            });
+        } catch (Exception e) {
+            // keep the last counts, the next refresh tries again
+            logger.warn("Could not refresh session activity counts", e);
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.eatwhat.backend.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eatwhat.backend.model.SessionCodeCounter;
+import com.eatwhat.backend.repository.SessionCodeCounterRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Hands out session codes from a block of sequence numbers leased from
+ * session_code_counter, so creating a session needs no existence check. Each
+ * instance leases a fresh block once the current one is used up; numbers left in
+ * a block at shutdown are simply skipped.
+ */
+@Component
+public class SessionCodeAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionCodeAllocator.class);
+
+    @Autowired
+    private SessionCodeCounterRepository counterRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.session-codes.block-size:1000}")
+    private int blockSize;
+
+    @Value("${app.session-codes.secret:eat-what}")
+    private String secret;
+
+    private SessionCodeCipher cipher;
+    private TransactionTemplate leaseTx;
+
+    // not synchronized: a lease blocks on the database, which would pin a virtual thread to its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next = 0;
+    private long limit = 0;
+
+    @PostConstruct
+    public void init() {
+        cipher = new SessionCodeCipher(secret);
+        leaseTx = new TransactionTemplate(transactionManager);
+        // commit the lease on its own, even if a caller's transaction later rolls back
+        leaseTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public String nextCode() {
+        lock.lock();
+        try {
+            if (next >= limit) {
+                next = lease();
+                limit = next + blockSize;
+            }
+            return cipher.encode(next++);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long lease() {
+        Long start = leaseTx.execute(status -> {
+            if (counterRepo.advance(SessionCodeCounter.ID, blockSize) == 0) {
+                return null;
+            }
+            return counterRepo.findNextValueById(SessionCodeCounter.ID) - blockSize;
+        });
+        if (start == null) {
+            createCounter();
+            return lease();
+        }
+        logger.debug("Leased session code block [{}, {})", start, start + blockSize);
+        return start;
+    }
+
+    private void createCounter() {
+        try {
+            leaseTx.executeWithoutResult(status -> counterRepo.saveAndFlush(new SessionCodeCounter(SessionCodeCounter.ID, 0)));
+        } catch (DataIntegrityViolationException e) {
+            // another instance created it first
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.eatwhat.backend.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Keyed one-to-one mapping from a sequence number to a 7 character session code.
+ * A 4 round Feistel network over 36 bits, cycle-walked down to the 2^35 values
+ * that 7 Crockford base32 characters can hold, so consecutive counters give
+ * unrelated codes and distinct counters can never give the same code.
+ * <p>
+ * Codes are one character longer than the old 6 character hex codes, so the two
+ * can never collide either.
+ */
+final class SessionCodeCipher {
+
+    static final int CODE_LENGTH = 7;
+    static final long CODE_SPACE = 1L << (5 * CODE_LENGTH);
+
+    // Crockford base32: no I, L, O or U, so codes read back unambiguously
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int HALF_BITS = 18;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final int ROUNDS = 4;
+
+    private final long[] roundKeys = new long[ROUNDS];
+
+    SessionCodeCipher(String secret) {
+        ByteBuffer digest = ByteBuffer.wrap(sha256(secret));
+        for (int i = 0; i < ROUNDS; i++) {
+            roundKeys[i] = digest.getLong();
+        }
+    }
+
+    String encode(long sequence) {
+        if (sequence < 0 || sequence >= CODE_SPACE) {
+            throw new IllegalStateException("Session code space exhausted at sequence " + sequence);
+        }
+        long value = permute(sequence);
+        char[] code = new char[CODE_LENGTH];
+        for (int i = CODE_LENGTH - 1; i >= 0; i--) {
+            code[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(code);
+    }
+
+    long permute(long sequence) {
+        long value = sequence;
+        do {
+            // the network permutes 2^36 values; walking again until the result is in range keeps it a bijection
+            value = feistel(value);
+        } while (value >= CODE_SPACE);
+        return value;
+    }
+
+    private long feistel(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (long key : roundKeys) {
+            long next = left ^ round(right, key);
+            left = right;
+            right = next;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private static long round(long half, long key) {
+        long x = (half ^ key) * 0x9E3779B97F4A7C15L;
+        x ^= x >>> 29;
+        x *= 0xBF58476D1CE4E5B9L;
+        x ^= x >>> 32;
+        return x & HALF_MASK;
+    }
+
+    private static byte[] sha256(String secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,219 @@
+package com.eatwhat.backend.service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.eatwhat.backend.event.RestaurantAddedEvent;
+import com.eatwhat.backend.event.RestaurantDeletedEvent;
+import com.eatwhat.backend.event.RestaurantMergedEvent;
+import com.eatwhat.backend.event.SessionLockedEvent;
+import com.eatwhat.backend.event.VoteChangedEvent;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Pushes session changes to SSE subscribers. Emitters are parked servlet async
+ * requests, so an idle subscriber costs no thread. Each event is serialized once
+ * and queued per subscriber; a subscriber's queue is sent in order by a shared
+ * pool, so a client that stops reading only stalls itself, and one whose queue
+ * fills up is dropped. Events that change the session carry its version as the
+ * SSE id; a client that reconnects re-reads the session for what it missed.
+ */
+@Service
+public class SessionEventBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionEventBroadcaster.class);
+
+    public static final String RESTAURANT_ADDED = "restaurant-added";
+    public static final String RESTAURANT_MERGED = "restaurant-merged";
+    public static final String RESTAURANT_DELETED = "restaurant-deleted";
+    public static final String SESSION_LOCKED = "session-locked";
+    public static final String VOTE_CHANGED = "vote-changed";
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Value("${app.session-events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    // events waiting for one subscriber; a client this far behind is dropped and reconnects
+    @Value("${app.session-events.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private ExecutorService senders;
+
+    @PostConstruct
+    public void init() {
+        // a send blocks while the client's TCP window is full, so senders are not a small fixed pool
+        senders = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("session-events-", 0).factory())
+                : Executors.newCachedThreadPool(Thread.ofPlatform().name("session-events-", 0).daemon().factory());
+    }
+
+    public SseEmitter subscribe(String sessionCode) {
+        Subscriber subscriber = new Subscriber(sessionCode, new SseEmitter(timeoutMs));
+        subscribers.compute(sessionCode, (code, current) -> {
+            Set<Subscriber> updated = current == null ? ConcurrentHashMap.newKeySet() : current;
+            updated.add(subscriber);
+            return updated;
+        });
+
+        Runnable remove = () -> unsubscribe(subscriber);
+        subscriber.emitter.onCompletion(remove);
+        subscriber.emitter.onTimeout(remove);
+        subscriber.emitter.onError(e -> remove.run());
+        return subscriber.emitter;
+    }
+
+    public int subscriberCount(String sessionCode) {
+        Set<Subscriber> current = subscribers.get(sessionCode);
+        return current == null ? 0 : current.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantAdded(RestaurantAddedEvent event) {
+        broadcast(event.sessionCode(), RESTAURANT_ADDED, event, event.version());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantMerged(RestaurantMergedEvent event) {
+        broadcast(event.sessionCode(), RESTAURANT_MERGED, event, event.version());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantDeleted(RestaurantDeletedEvent event) {
+        broadcast(event.sessionCode(), RESTAURANT_DELETED, event, event.version());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionLocked(SessionLockedEvent event) {
+        broadcast(event.sessionCode(), SESSION_LOCKED, event, event.version());
+    }
+
+    // votes do not move the session version, so they carry no id
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVoteChanged(VoteChangedEvent event) {
+        broadcast(event.sessionCode(), VOTE_CHANGED, event, null);
+    }
+
+    // keeps proxies from closing quiet connections and flushes out dead clients
+    @Scheduled(fixedDelayString = "${app.session-events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(current -> current.forEach(
+                subscriber -> subscriber.offer(SseEmitter.event().comment("ping"))));
+    }
+
+    private void broadcast(String sessionCode, String name, Object payload, Long version) {
+        Set<Subscriber> current = subscribers.get(sessionCode);
+        if (current == null || current.isEmpty()) {
+            return;
+        }
+        String json = jsonMapper.writeValueAsString(payload);
+        for (Subscriber subscriber : current) {
+            // a builder is consumed by its send, so every subscriber gets its own
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(name).data(json);
+            if (version != null) {
+                event.id(String.valueOf(version));
+            }
+            subscriber.offer(event);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriber.dropped = true;
+        subscribers.computeIfPresent(subscriber.sessionCode, (code, current) -> {
+            current.remove(subscriber);
+            return current.isEmpty() ? null : current;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(current -> current.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdown();
+    }
+
+    // one client's pending events, sent in order by at most one sender at a time
+    private final class Subscriber {
+
+        final String sessionCode;
+        final SseEmitter emitter;
+        final BlockingQueue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(bufferSize);
+        final AtomicBoolean sending = new AtomicBoolean();
+        volatile boolean dropped;
+
+        Subscriber(String sessionCode, SseEmitter emitter) {
+            this.sessionCode = sessionCode;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (dropped) {
+                return;
+            }
+            if (!pending.offer(event)) {
+                logger.debug("Dropping slow event subscriber for session {}", sessionCode);
+                unsubscribe(this);
+                pending.clear();
+            }
+            // also after a drop: the sender completes the emitter, which may wait for a blocked send
+            schedule();
+        }
+
+        void schedule() {
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        void drain() {
+            while (true) {
+                if (dropped) {
+                    emitter.complete();
+                    return;
+                }
+                SseEmitter.SseEventBuilder event = pending.poll();
+                if (event == null) {
+                    sending.set(false);
+                    // an event queued between the poll and the reset would otherwise wait for the next one
+                    if ((pending.isEmpty() && !dropped) || !sending.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    logger.debug("Dropping event subscriber for session {}: {}", sessionCode, e.getMessage());
+                    unsubscribe(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+
+    }
+
+}
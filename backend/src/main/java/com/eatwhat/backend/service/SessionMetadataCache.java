@@ -0,0 +1,165 @@
+package com.eatwhat.backend.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.eatwhat.backend.event.SessionLockedEvent;
+import com.eatwhat.backend.event.SessionsArchivedEvent;
+import com.eatwhat.backend.repository.SessionMetadata;
+import com.eatwhat.backend.repository.SessionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Session metadata by code, cached at two levels: a map on the current HTTP
+ * request, then a shared LRU bounded by app.session-cache.max-size whose entries
+ * expire after app.session-cache.ttl-ms. Locks evict the entry locally; the TTL
+ * bounds how long another instance's lock can go unseen. Writes never rely on
+ * this cache, their guarded updates check the status in the database.
+ */
+@Component
+public class SessionMetadataCache {
+
+    private static final String REQUEST_ATTRIBUTE = SessionMetadataCache.class.getName();
+
+    @Autowired
+    private SessionRepository sessionRepo;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.session-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${app.session-cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    private Map<String, CachedMetadata> shared;
+    private Counter requestHits;
+    private Counter sharedHits;
+    private Counter misses;
+
+    @PostConstruct
+    public void init() {
+        shared = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedMetadata> eldest) {
+                return size() > maxSize;
+            }
+        };
+        requestHits = counter("hit", "request");
+        sharedHits = counter("hit", "shared");
+        misses = counter("miss", "none");
+        meterRegistry.gauge("session.metadata.cache.size", this, cache -> cache.size());
+    }
+
+    // empty when the session does not exist; misses are not cached
+    public Optional<SessionMetadata> get(String sessionCode) {
+        Map<String, SessionMetadata> requestCache = requestCache();
+        if (requestCache != null && requestCache.containsKey(sessionCode)) {
+            requestHits.increment();
+            return Optional.of(requestCache.get(sessionCode));
+        }
+
+        SessionMetadata metadata = getShared(sessionCode);
+        if (metadata != null) {
+            sharedHits.increment();
+        } else {
+            misses.increment();
+            Optional<SessionMetadata> loaded = sessionRepo.findMetadataBySessionCode(sessionCode);
+            if (loaded.isEmpty()) {
+                return loaded;
+            }
+            metadata = loaded.get();
+            putShared(metadata);
+        }
+
+        if (requestCache != null) {
+            requestCache.put(sessionCode, metadata);
+        }
+        return Optional.of(metadata);
+    }
+
+    public void evict(String sessionCode) {
+        synchronized (shared) {
+            shared.remove(sessionCode);
+        }
+        Map<String, SessionMetadata> requestCache = requestCache();
+        if (requestCache != null) {
+            requestCache.remove(sessionCode);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionLocked(SessionLockedEvent event) {
+        evict(event.sessionCode());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionsArchived(SessionsArchivedEvent event) {
+        event.sessionCodes().forEach(this::evict);
+    }
+
+    int size() {
+        synchronized (shared) {
+            return shared.size();
+        }
+    }
+
+    private SessionMetadata getShared(String sessionCode) {
+        synchronized (shared) {
+            CachedMetadata cached = shared.get(sessionCode);
+            if (cached == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() - cached.loadedAt() >= ttlMs) {
+                shared.remove(sessionCode);
+                return null;
+            }
+            return cached.metadata();
+        }
+    }
+
+    private void putShared(SessionMetadata metadata) {
+        synchronized (shared) {
+            shared.put(metadata.sessionCode(), new CachedMetadata(metadata, System.currentTimeMillis()));
+        }
+    }
+
+    // null outside an HTTP request (scheduled jobs, write-behind and event threads)
+    @SuppressWarnings("unchecked")
+    private Map<String, SessionMetadata> requestCache() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object cache = attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cache == null) {
+            cache = new HashMap<String, SessionMetadata>();
+            attributes.setAttribute(REQUEST_ATTRIBUTE, cache, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<String, SessionMetadata>) cache;
+    }
+
+    private Counter counter(String result, String level) {
+        return Counter.builder("session.metadata.cache")
+                .description("Session metadata lookups by code")
+                .tag("result", result)
+                .tag("level", level)
+                .register(meterRegistry);
+    }
+
+    private record CachedMetadata(SessionMetadata metadata, long loadedAt) {}
+
+}
@@ -1,18 +1,39 @@
 package com.eatwhat.backend.service;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.OptionalLong;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.eatwhat.backend.dto.SessionSnapshotResponse;
+import com.eatwhat.backend.event.SessionLockedEvent;
 import com.eatwhat.backend.model.Restaurant;
 import com.eatwhat.backend.model.Session;
 import com.eatwhat.backend.model.User;
+import com.eatwhat.backend.repository.RestaurantRepository;
+import com.eatwhat.backend.repository.SessionMetadata;
 import com.eatwhat.backend.repository.SessionRepository;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
 @Service
+@Timed("service.calls")
 public class SessionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionService.class);
+
+    private static final int CODE_ATTEMPTS = 3;
     
     @Autowired
     private SessionRepository sessionRepo;
@@ -20,78 +41,177 @@ public class SessionService {
     @Autowired
     private UserService userSvc;
 
+    @Autowired
+    private SessionCodeAllocator codeAllocator;
+
+    @Autowired
+    private SessionMetadataCache metadataCache;
+
+    @Autowired
+    private RestaurantRepository restaurantRepo;
+
+    @Autowired
+    private HotSessionEngine hotSessions;
+
+    @Autowired
+    private SessionVersionTracker versionTracker;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate txTemplate;
+    private TransactionTemplate readTx;
+    private Counter codeRetries;
+
+    @PostConstruct
+    public void init() {
+        txTemplate = new TransactionTemplate(transactionManager);
+        readTx = new TransactionTemplate(transactionManager);
+        readTx.setReadOnly(true);
+        codeRetries = meterRegistry.counter("session.codes.retries");
+    }
+
     public Session createSession(String username) {
         Optional<User> user = userSvc.getUserByUsername(username);
         if (user.isEmpty()) {
             throw new IllegalArgumentException("User not found: " + username);
         }
 
-        if (!userSvc.canInitiateSession(username)) {
+        if (user.get().getRole() != User.UserRole.SESSION_INITIATOR) {
             throw new IllegalArgumentException("User is not authorized to intiate sessions: " + username);
         }
 
-        String sessionCode = generateUniqueSessionCode();
-        Session session = new Session(sessionCode, user.get());
-        return sessionRepo.save(session);
+        for (int attempt = 1; ; attempt++) {
+            Session session = new Session(codeAllocator.nextCode(), user.get());
+            try {
+                return sessionRepo.save(session);
+            } catch (DataIntegrityViolationException e) {
+                // only possible if app.session-codes.secret was changed after codes were issued
+                if (attempt >= CODE_ATTEMPTS) {
+                    throw e;
+                }
+                codeRetries.increment();
+                logger.warn("Session code {} already taken, allocating another", session.getSessionCode());
+            }
+        }
     }
 
     public Optional<Session> getSessionByCode(String sessionCode) {
-        return sessionRepo.findBySessionCode(sessionCode);
+        Optional<Session> hot = hotSessions.getSession(sessionCode);
+        if (hot.isPresent()) {
+            return hot;
+        }
+        return readTx.execute(status -> sessionRepo.findBySessionCode(sessionCode));
     }
 
-    public Session lockSession(String sessionCode) {
-        Optional<Session> sessionOpt = sessionRepo.findBySessionCode(sessionCode);
-        if (sessionOpt.isEmpty()) {
-            throw new IllegalArgumentException("Session not found: " + sessionCode);
+    // strong ETag for every representation of the session, null when it does not exist
+    public String getSessionETag(String sessionCode) {
+        Optional<String> hot = hotSessions.getETag(sessionCode);
+        if (hot.isPresent()) {
+            return hot.get();
         }
+        OptionalLong version = versionTracker.currentVersion(sessionCode);
+        return version.isPresent() ? "\"v" + version.getAsLong() + "\"" : null;
+    }
 
-        Session session = sessionOpt.get();
-
-        if (session.isLocked()) {
-            throw new IllegalStateException("Session is already locked: " + sessionCode);
+    // two statements on the JPA path: the session with its joins, then its restaurants
+    public SessionSnapshotResponse getSessionSnapshot(String sessionCode, String username) {
+        Optional<Session> hot = hotSessions.getSession(sessionCode);
+        if (hot.isPresent()) {
+            return SessionSnapshotResponse.of(hot.get(), hot.get().getRestaurants(), username);
         }
 
-        session.lockSession();
-        return sessionRepo.save(session);
+        return readTx.execute(status -> {
+            Optional<Session> sessionOpt = sessionRepo.findWithInitiatorBySessionCode(sessionCode);
+            if (sessionOpt.isEmpty()) {
+                throw new IllegalArgumentException("Session not found: " + sessionCode);
+            }
+            Session session = sessionOpt.get();
+            return SessionSnapshotResponse.of(session, restaurantRepo.findBySessionOrderBySubmittedAtAsc(session), username);
+        });
+    }
+
+    // id, status and initiator only, usually without a query
+    public Optional<SessionMetadata> getSessionMetadata(String sessionCode) {
+        return metadataCache.get(sessionCode);
+    }
+
+    // throws the usual not-found error for callers that only need the session id
+    SessionMetadata requireSessionMetadata(String sessionCode) {
+        return metadataCache.get(sessionCode)
+                .orElseThrow(() -> new IllegalArgumentException("Session not found: " + sessionCode));
     }
 
-    public Session lockSession(String sessionCode, Restaurant randomRestaurant) {
-        Optional<Session> sessionOpt = sessionRepo.findBySessionCode(sessionCode);
-        if (sessionOpt.isEmpty()) {
-            throw new IllegalArgumentException("Session not found: " + sessionCode);
+    public Session lockSession(String sessionCode) {
+        Optional<SessionLockedEvent> hot = hotSessions.lockSession(sessionCode);
+        if (hot.isPresent()) {
+            eventPublisher.publishEvent(hot.get());
+            return getSessionByCode(sessionCode).orElseThrow();
         }
 
-        Session session = sessionOpt.get();
+        Session locked = txTemplate.execute(status -> {
+            if (sessionRepo.lockIfActiveByCode(sessionCode, LocalDateTime.now()) == 0) {
+                throw rejectedWrite(sessionCode, "Session is already locked: " + sessionCode);
+            }
+            return sessionRepo.findBySessionCode(sessionCode).orElseThrow();
+        });
+        eventPublisher.publishEvent(new SessionLockedEvent(sessionCode, null, locked.getVersion()));
+        return locked;
+    }
 
-        if (session.isLocked()) {
-            throw new IllegalStateException("Session is already locked: " + sessionCode);
+    // locks with a single conditional update and returns the new version; callers must already be in a transaction
+    long lockIfActive(SessionMetadata session, Restaurant randomRestaurant) {
+        if (sessionRepo.lockIfActive(session.id(), LocalDateTime.now(), randomRestaurant) == 0) {
+            throw new IllegalStateException("Session is already locked: " + session.sessionCode());
         }
+        return sessionRepo.findVersionById(session.id());
+    }
 
-        session.lockSession(randomRestaurant);
-        return sessionRepo.save(session);
+    // takes the next count versions (and the first-submitter slot if free) with one guarded update and
+    // returns the last of them; callers must already be in a transaction
+    SessionRepository.SessionVersionView nextSubmitVersions(String sessionCode, String submittedBy, int count) {
+        if (sessionRepo.incrementVersionForSubmitIfActive(sessionCode, submittedBy, count) == 0) {
+            throw rejectedWrite(sessionCode, "Cannot submit restaurants to locked session: " + sessionCode);
+        }
+        return sessionRepo.findVersionViewBySessionCode(sessionCode).orElseThrow();
     }
 
-    public boolean sessionExists(String sessionCode) {
-        return sessionRepo.existsBySessionCode(sessionCode);
+    // only runs once a guarded write has matched no row, to tell a missing session from a locked one
+    private RuntimeException rejectedWrite(String sessionCode, String lockedMessage) {
+        if (!sessionRepo.existsBySessionCode(sessionCode)) {
+            return new IllegalArgumentException("Session not found: " + sessionCode);
+        }
+        return new IllegalStateException(lockedMessage);
     }
 
-    public boolean isSessionLocked(String sessionCode) {
-        Optional<Session> session = sessionRepo.findBySessionCode(sessionCode);
-        return session.isPresent() && session.get().isLocked();
+    // null when nobody has submitted yet
+    public String getFirstSubmitter(String sessionCode) {
+        Optional<String> hot = hotSessions.getFirstSubmitter(sessionCode);
+        if (hot.isPresent()) {
+            return hot.get();
+        }
+        return sessionRepo.findFirstSubmitterBySessionCode(sessionCode)
+                .orElseThrow(() -> new IllegalArgumentException("Session not found: " + sessionCode))
+                .getFirstSubmitter();
     }
 
-    private String generateUniqueSessionCode() {
-        String sessionCode;
-        do {
-            sessionCode = generateSessionCode();
-        } while (sessionRepo.existsBySessionCode(sessionCode));;
-        return sessionCode;
+    public boolean sessionExists(String sessionCode) {
+        return metadataCache.get(sessionCode).isPresent();
     }
 
-    private String generateSessionCode() {
-        // generate 6 character uuid
-        return UUID.randomUUID().toString().replace("-","").substring(0,6).toUpperCase();
+    public boolean isSessionLocked(String sessionCode) {
+        // a hot lock may not be flushed yet, so the engine answers before the cache
+        Optional<Boolean> hot = hotSessions.isLocked(sessionCode);
+        if (hot.isPresent()) {
+            return hot.get();
+        }
+        return metadataCache.get(sessionCode).map(SessionMetadata::isLocked).orElse(false);
     }
-    
 
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.eatwhat.backend.service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.eatwhat.backend.event.RestaurantAddedEvent;
+import com.eatwhat.backend.event.RestaurantDeletedEvent;
+import com.eatwhat.backend.event.RestaurantMergedEvent;
+import com.eatwhat.backend.event.SessionLockedEvent;
+import com.eatwhat.backend.repository.SessionRepository;
+
+/**
+ * Last known version per session code, kept current from committed submit, delete
+ * and lock events so conditional GETs can be answered without touching the
+ * database. Entries are re-read after app.session-etags.ttl-ms, which bounds how
+ * long a write made by another instance can go unnoticed.
+ */
+@Service
+public class SessionVersionTracker {
+
+    @Autowired
+    private SessionRepository sessionRepo;
+
+    @Value("${app.session-etags.ttl-ms:2000}")
+    private long ttlMs;
+
+    private final Map<String, KnownVersion> versions = new ConcurrentHashMap<>();
+
+    // empty when the session does not exist
+    public OptionalLong currentVersion(String sessionCode) {
+        long now = System.currentTimeMillis();
+        KnownVersion known = versions.get(sessionCode);
+        if (known != null && now - known.checkedAt() < ttlMs) {
+            return OptionalLong.of(known.version());
+        }
+
+        Optional<Long> version = sessionRepo.findVersionBySessionCode(sessionCode);
+        if (version.isEmpty()) {
+            versions.remove(sessionCode);
+            return OptionalLong.empty();
+        }
+        record(sessionCode, version.get(), now);
+        return OptionalLong.of(version.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantAdded(RestaurantAddedEvent event) {
+        record(event.sessionCode(), event.version(), System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantMerged(RestaurantMergedEvent event) {
+        record(event.sessionCode(), event.version(), System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantDeleted(RestaurantDeletedEvent event) {
+        record(event.sessionCode(), event.version(), System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionLocked(SessionLockedEvent event) {
+        record(event.sessionCode(), event.version(), System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${app.session-etags.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long expiredBefore = System.currentTimeMillis() - ttlMs;
+        versions.values().removeIf(known -> known.checkedAt() < expiredBefore);
+    }
+
+    private void record(String sessionCode, long version, long now) {
+        versions.merge(sessionCode, new KnownVersion(version, now),
+                (old, fresh) -> new KnownVersion(Math.max(old.version(), fresh.version()), now));
+    }
+
+    private record KnownVersion(long version, long checkedAt) {}
+
+}
@@ -0,0 +1,287 @@
+package com.eatwhat.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eatwhat.backend.model.Restaurant;
+import com.eatwhat.backend.model.RestaurantTombstone;
+import com.eatwhat.backend.repository.RestaurantRepository;
+import com.eatwhat.backend.repository.RestaurantSubmitterRepository;
+import com.eatwhat.backend.repository.RestaurantTombstoneRepository;
+import com.eatwhat.backend.repository.SessionRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Single writer thread that flushes hot-session mutations to MySQL in batches.
+ * Writes are applied in the order they were queued, so a lock queued after a
+ * submission is always persisted after it.
+ */
+@Component
+public class SessionWriteBehind {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionWriteBehind.class);
+
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+
+    @Autowired
+    private RestaurantRepository restaurantRepo;
+
+    @Autowired
+    private SessionRepository sessionRepo;
+
+    @Autowired
+    private RestaurantTombstoneRepository tombstoneRepo;
+
+    @Autowired
+    private RestaurantSubmitterRepository submitterRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.hot-sessions.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.hot-sessions.write-batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.hot-sessions.flush-interval-ms:20}")
+    private long flushIntervalMs;
+
+    private TransactionTemplate txTemplate;
+    // enqueuers share the read side, shutdown takes the write side, so nothing is queued after the final drain
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean closed = false;
+    private Thread worker;
+
+    @PostConstruct
+    public void start() {
+        txTemplate = new TransactionTemplate(transactionManager);
+        if (enabled) {
+            worker = Thread.ofPlatform().name("session-write-behind").daemon().start(this::run);
+        }
+    }
+
+    // inserts are group-committed: the caller gets the persisted row (with its id) once its batch commits
+    public CompletableFuture<Restaurant> insert(Restaurant restaurant, Runnable onFlushed, Runnable onFailed) {
+        InsertRestaurant write = new InsertRestaurant(restaurant, onFlushed, onFailed, new CompletableFuture<>());
+        enqueue(write);
+        return write.result();
+    }
+
+    // completes with the restaurant once the extra submitter is recorded; submitterCount receives the new count
+    public CompletableFuture<Restaurant> merge(Long sessionId, Restaurant restaurant, String submittedBy, long version,
+                                               AtomicInteger submitterCount, Runnable onFlushed, Runnable onFailed) {
+        MergeSubmitter write = new MergeSubmitter(sessionId, restaurant, submittedBy, version, submitterCount,
+                onFlushed, onFailed, new CompletableFuture<>());
+        enqueue(write);
+        return write.result();
+    }
+
+    // onFailed runs instead of onFlushed when the database rejects the write, which the caller has already applied
+    public void delete(Long sessionId, Long restaurantId, String submittedBy, long version, Runnable onFlushed,
+                       Runnable onFailed) {
+        enqueue(new DeleteRestaurant(sessionId, restaurantId, submittedBy, version, onFlushed, onFailed));
+    }
+
+    public void lock(Long sessionId, LocalDateTime lockedAt, Restaurant randomRestaurant, long version,
+                     Runnable onFlushed, Runnable onFailed) {
+        enqueue(new LockSession(sessionId, lockedAt, randomRestaurant, version, onFlushed, onFailed));
+    }
+
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    private void enqueue(PendingWrite write) {
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Server is shutting down, please retry");
+            }
+            queue.add(write);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (!closed) {
+            try {
+                PendingWrite first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        try {
+            txTemplate.executeWithoutResult(status -> applyAll(batch));
+            batch.forEach(this::complete);
+        } catch (RuntimeException e) {
+            // one bad write must not take the rest of the batch down with it
+            logger.warn("Write-behind batch of {} failed, retrying writes individually", batch.size(), e);
+            for (PendingWrite write : batch) {
+                try {
+                    txTemplate.executeWithoutResult(status -> applyAll(List.of(write)));
+                    complete(write);
+                } catch (RuntimeException ex) {
+                    logger.error("Write-behind failed for {}", write, ex);
+                    fail(write, ex);
+                }
+            }
+        }
+    }
+
+    // inserts are only persisted here and go out as one JDBC batch; their session updates are
+    // coalesced per session and applied before any other write, which may depend on them
+    private void applyAll(List<PendingWrite> writes) {
+        Map<Long, SessionInserts> inserted = new LinkedHashMap<>();
+        for (PendingWrite write : writes) {
+            if (write instanceof InsertRestaurant insert) {
+                Restaurant restaurant = insert.restaurant();
+                // a rolled back batch leaves its generated id behind, the retry has to insert afresh
+                restaurant.setId(null);
+                restaurantRepo.save(restaurant);
+                inserted.merge(restaurant.getSession().getId(),
+                        new SessionInserts(restaurant.getSubmittedBy(), restaurant.getAddedVersion()), SessionInserts::merge);
+            } else {
+                applySessionInserts(inserted);
+                apply(write);
+            }
+        }
+        applySessionInserts(inserted);
+    }
+
+    private void applySessionInserts(Map<Long, SessionInserts> inserted) {
+        inserted.forEach((sessionId, inserts) -> {
+            sessionRepo.raiseVersion(sessionId, inserts.lastVersion());
+            sessionRepo.claimFirstSubmitter(sessionId, inserts.firstSubmitter());
+        });
+        inserted.clear();
+    }
+
+    private void apply(PendingWrite write) {
+        switch (write) {
+            case InsertRestaurant insert -> throw new IllegalArgumentException("Inserts are applied by applyAll");
+            case MergeSubmitter merge -> {
+                Long restaurantId = merge.restaurant().getId();
+                // the submitter row and the count move together, a user already recorded changes neither
+                if (submitterRepo.addSubmitter(merge.sessionId(), restaurantId, merge.submittedBy(), LocalDateTime.now()) > 0
+                        && restaurantRepo.incrementSubmitterCount(restaurantId) == 0) {
+                    throw new IllegalStateException("Restaurant not found: " + restaurantId);
+                }
+                merge.submitterCount().set(restaurantRepo.findSubmitterCountById(restaurantId));
+                sessionRepo.raiseVersion(merge.sessionId(), merge.version());
+            }
+            case DeleteRestaurant delete -> {
+                restaurantRepo.deleteAllByIdInBatch(List.of(delete.restaurantId()));
+                submitterRepo.deleteByRestaurantId(delete.restaurantId());
+                tombstoneRepo.save(new RestaurantTombstone(delete.sessionId(), delete.restaurantId(), delete.version()));
+                sessionRepo.raiseVersion(delete.sessionId(), delete.version());
+                sessionRepo.refreshFirstSubmitter(delete.sessionId(), delete.submittedBy());
+            }
+            case LockSession lock -> {
+                sessionRepo.markLocked(lock.sessionId(), lock.lockedAt(), lock.randomRestaurant());
+                sessionRepo.raiseVersion(lock.sessionId(), lock.version());
+            }
+        }
+    }
+
+    private void complete(PendingWrite write) {
+        write.onFlushed().run();
+        if (write instanceof InsertRestaurant insert) {
+            insert.result().complete(insert.restaurant());
+        } else if (write instanceof MergeSubmitter merge) {
+            merge.result().complete(merge.restaurant());
+        }
+    }
+
+    private void fail(PendingWrite write, RuntimeException e) {
+        write.onFailed().run();
+        if (write instanceof InsertRestaurant insert) {
+            insert.result().completeExceptionally(e);
+        } else if (write instanceof MergeSubmitter merge) {
+            merge.result().completeExceptionally(e);
+        }
+    }
+
+    // acknowledged writes must reach the database before the datasource goes away
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        closeLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        if (worker != null) {
+            // the worker notices within one flush interval and exits after its current batch
+            worker.join();
+        }
+        List<PendingWrite> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            logger.info("Flushing {} pending session writes before shutdown", remaining.size());
+            for (int i = 0; i < remaining.size(); i += batchSize) {
+                flush(remaining.subList(i, Math.min(i + batchSize, remaining.size())));
+            }
+        }
+    }
+
+    private record SessionInserts(String firstSubmitter, long lastVersion) {
+        SessionInserts merge(SessionInserts later) {
+            return new SessionInserts(firstSubmitter, Math.max(lastVersion, later.lastVersion()));
+        }
+    }
+
+    sealed interface PendingWrite permits InsertRestaurant, MergeSubmitter, DeleteRestaurant, LockSession {
+        Runnable onFlushed();
+
+        Runnable onFailed();
+    }
+
+    record InsertRestaurant(Restaurant restaurant, Runnable onFlushed, Runnable onFailed,
+                            CompletableFuture<Restaurant> result) implements PendingWrite {}
+
+    record MergeSubmitter(Long sessionId, Restaurant restaurant, String submittedBy, long version,
+                          AtomicInteger submitterCount, Runnable onFlushed, Runnable onFailed,
+                          CompletableFuture<Restaurant> result) implements PendingWrite {}
+
+    record DeleteRestaurant(Long sessionId, Long restaurantId, String submittedBy, long version, Runnable onFlushed,
+                            Runnable onFailed) implements PendingWrite {}
+
+    record LockSession(Long sessionId, LocalDateTime lockedAt, Restaurant randomRestaurant, long version,
+                       Runnable onFlushed, Runnable onFailed) implements PendingWrite {}
+
+}
@@ -0,0 +1,239 @@
+package com.eatwhat.backend.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Approximate most frequent names over sliding windows of whole hours. Every hour
+ * has its own {@link CountMinSketch} and keeps the names that ranked highest while
+ * it was current as candidates. Each window keeps the sum of its hours' sketches,
+ * subtracting an hour as it slides out, so a query only estimates the candidates
+ * against one sketch. A name that never made an hour's candidates can be missed,
+ * which is the usual heavy-hitters trade-off.
+ * <p>
+ * Hours are epoch hours. Not thread-safe, {@link TrendingService} guards it.
+ */
+final class TrendingCounter {
+
+    record Trend(String name, long count) {}
+
+    private final int depth;
+    private final int width;
+    private final int candidatesPerHour;
+    private final int retainedHours;
+    private final Map<Integer, Window> windows = new HashMap<>();
+    private final TreeMap<Long, Bucket> buckets = new TreeMap<>();
+    private long currentHour = Long.MIN_VALUE;
+
+    TrendingCounter(int depth, int width, int candidatesPerHour, int... windowHours) {
+        this.depth = depth;
+        this.width = width;
+        this.candidatesPerHour = candidatesPerHour;
+        int longest = 0;
+        for (int hours : windowHours) {
+            windows.put(hours, new Window(new CountMinSketch(depth, width)));
+            longest = Math.max(longest, hours);
+        }
+        this.retainedHours = longest;
+    }
+
+    void add(String key, String name, long hour) {
+        advance(hour);
+        if (hour <= currentHour - retainedHours) {
+            return;
+        }
+        Bucket bucket = buckets.computeIfAbsent(hour, h -> new Bucket(new CountMinSketch(depth, width)));
+        bucket.sketch.add(key, 1);
+        for (Window window : windows.values()) {
+            if (hour >= window.fromHour) {
+                window.sum.add(key, 1);
+            }
+        }
+        bucket.offer(key, name, bucket.sketch.estimate(key), candidatesPerHour);
+        bucket.dirty = true;
+    }
+
+    // best first over the last windowHours hours up to and including hour
+    List<Trend> top(int windowHours, long hour, int limit) {
+        Window window = windows.get(windowHours);
+        if (window == null) {
+            throw new IllegalArgumentException("Unknown window: " + windowHours + " hours");
+        }
+        advance(hour);
+
+        // later hours come last, so a name shows with its most recent spelling
+        Map<String, String> names = new LinkedHashMap<>();
+        for (Bucket bucket : buckets.tailMap(window.fromHour).values()) {
+            bucket.candidates.forEach((key, candidate) -> names.put(key, candidate.name));
+        }
+        List<Trend> trends = new ArrayList<>(names.size());
+        names.forEach((key, name) -> trends.add(new Trend(name, window.sum.estimate(key))));
+        trends.sort(Comparator.comparingLong(Trend::count).reversed().thenComparing(Trend::name));
+        return trends.size() > limit ? new ArrayList<>(trends.subList(0, limit)) : trends;
+    }
+
+    // hours to drop from the checkpoint: anything before this one
+    long oldestRetainedHour() {
+        return currentHour == Long.MIN_VALUE ? Long.MIN_VALUE : currentHour - retainedHours + 1;
+    }
+
+    // moves the windows forward; a clock that steps back leaves them where they are
+    private void advance(long hour) {
+        if (hour <= currentHour) {
+            return;
+        }
+        currentHour = hour;
+        for (Map.Entry<Integer, Window> entry : windows.entrySet()) {
+            Window window = entry.getValue();
+            long fromHour = hour - entry.getKey() + 1;
+            if (fromHour > window.fromHour) {
+                for (Bucket bucket : buckets.subMap(window.fromHour, fromHour).values()) {
+                    window.sum.subtractAll(bucket.sketch);
+                }
+                window.fromHour = fromHour;
+            }
+        }
+        buckets.headMap(hour - retainedHours + 1).clear();
+    }
+
+    // serialized hours changed since the last call, for the checkpoint
+    Map<Long, byte[]> drainDirty() {
+        Map<Long, byte[]> dirty = new LinkedHashMap<>();
+        buckets.forEach((hour, bucket) -> {
+            if (bucket.dirty) {
+                dirty.put(hour, bucket.serialize());
+                bucket.dirty = false;
+            }
+        });
+        return dirty;
+    }
+
+    // a checkpoint that failed to write is retried with the next one
+    void markDirty(long hour) {
+        Bucket bucket = buckets.get(hour);
+        if (bucket != null) {
+            bucket.dirty = true;
+        }
+    }
+
+    // loads checkpointed hours, then sums the windows ending at hour afresh; nothing is loaded if any hour is unreadable
+    void restore(Map<Long, byte[]> checkpoint, long hour) {
+        Map<Long, Bucket> restored = new HashMap<>();
+        checkpoint.forEach((bucketHour, data) -> restored.put(bucketHour, Bucket.deserialize(data, depth, width)));
+        buckets.putAll(restored);
+        currentHour = Long.MIN_VALUE;
+        for (Window window : windows.values()) {
+            window.sum = new CountMinSketch(depth, width);
+            window.fromHour = Long.MIN_VALUE;
+            for (Bucket bucket : buckets.values()) {
+                window.sum.addAll(bucket.sketch);
+            }
+        }
+        advance(hour);
+    }
+
+    private static final class Window {
+        // sum of every retained hour from fromHour on
+        CountMinSketch sum;
+        long fromHour = Long.MIN_VALUE;
+
+        Window(CountMinSketch sum) {
+            this.sum = sum;
+        }
+    }
+
+    private static final class Candidate {
+        final String name;
+        int estimate;
+
+        Candidate(String name, int estimate) {
+            this.name = name;
+            this.estimate = estimate;
+        }
+    }
+
+    private static final class Bucket {
+        final CountMinSketch sketch;
+        final Map<String, Candidate> candidates = new HashMap<>();
+        boolean dirty;
+
+        Bucket(CountMinSketch sketch) {
+            this.sketch = sketch;
+        }
+
+        // a member only needs its estimate raised, so the weakest is looked for only when an outsider arrives
+        void offer(String key, String name, int estimate, int capacity) {
+            Candidate candidate = candidates.get(key);
+            if (candidate != null) {
+                candidate.estimate = estimate;
+                return;
+            }
+            if (candidates.size() >= capacity) {
+                Map.Entry<String, Candidate> weakest = null;
+                for (Map.Entry<String, Candidate> entry : candidates.entrySet()) {
+                    if (weakest == null || entry.getValue().estimate < weakest.getValue().estimate) {
+                        weakest = entry;
+                    }
+                }
+                if (weakest == null || weakest.getValue().estimate >= estimate) {
+                    return;
+                }
+                candidates.remove(weakest.getKey());
+            }
+            candidates.put(key, new Candidate(name, estimate));
+        }
+
+        byte[] serialize() {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(sketch.counters().length * 4 + candidates.size() * 64);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(sketch.depth());
+                out.writeInt(sketch.width());
+                for (int counter : sketch.counters()) {
+                    out.writeInt(counter);
+                }
+                out.writeInt(candidates.size());
+                for (Map.Entry<String, Candidate> entry : candidates.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeUTF(entry.getValue().name);
+                    out.writeInt(entry.getValue().estimate);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }
+
+        static Bucket deserialize(byte[] data, int depth, int width) {
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+                if (in.readInt() != depth || in.readInt() != width) {
+                    throw new IllegalArgumentException("Checkpoint sketch shape differs from the configured one");
+                }
+                int[] counters = new int[depth * width];
+                for (int i = 0; i < counters.length; i++) {
+                    counters[i] = in.readInt();
+                }
+                Bucket bucket = new Bucket(new CountMinSketch(depth, width, counters));
+                int candidateCount = in.readInt();
+                for (int i = 0; i < candidateCount; i++) {
+                    String key = in.readUTF();
+                    bucket.candidates.put(key, new Candidate(in.readUTF(), in.readInt()));
+                }
+                return bucket;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+}
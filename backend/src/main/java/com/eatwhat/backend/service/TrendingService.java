@@ -0,0 +1,196 @@
+package com.eatwhat.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eatwhat.backend.dto.TrendingRestaurantResponse;
+import com.eatwhat.backend.event.RestaurantAddedEvent;
+import com.eatwhat.backend.event.RestaurantMergedEvent;
+import com.eatwhat.backend.event.SessionLockedEvent;
+import com.eatwhat.backend.model.Restaurant;
+import com.eatwhat.backend.model.TrendingBucket;
+import com.eatwhat.backend.repository.TrendingBucketRepository;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Trending restaurant names across all sessions, counted as restaurants are
+ * submitted and as they are drawn when a session locks. Counts are approximate
+ * and kept in memory per metric in hourly buckets, see {@link TrendingCounter};
+ * changed hours are checkpointed to trending_buckets so a restart resumes the
+ * windows. Each instance counts what it served.
+ */
+@Service
+@Timed("service.calls")
+public class TrendingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+
+    public static final String PICKS = "picks";
+    public static final String SUBMISSIONS = "submissions";
+
+    private static final int DAY_HOURS = 24;
+    private static final int WEEK_HOURS = 24 * 7;
+    private static final int MAX_RESULTS = 100;
+
+    @Autowired
+    private TrendingBucketRepository bucketRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.trending.sketch-depth:4}")
+    private int sketchDepth;
+
+    @Value("${app.trending.sketch-width:2048}")
+    private int sketchWidth;
+
+    @Value("${app.trending.candidates-per-hour:100}")
+    private int candidatesPerHour;
+
+    private final Map<String, TrendingCounter> counters = new HashMap<>();
+    // held while buckets are written, a monitor there would pin virtual threads
+    private final ReentrantLock checkpointLock = new ReentrantLock();
+    private TransactionTemplate txTemplate;
+
+    @PostConstruct
+    public void init() {
+        txTemplate = new TransactionTemplate(transactionManager);
+        for (String metric : List.of(PICKS, SUBMISSIONS)) {
+            counters.put(metric, new TrendingCounter(sketchDepth, sketchWidth, candidatesPerHour, DAY_HOURS, WEEK_HOURS));
+        }
+        restore();
+    }
+
+    public List<TrendingRestaurantResponse> getTrending(String metric, String window, int limit) {
+        TrendingCounter counter = counters.get(metric);
+        if (counter == null) {
+            throw new IllegalArgumentException("Unknown metric: " + metric);
+        }
+        int hours = switch (window) {
+            case "day" -> DAY_HOURS;
+            case "week" -> WEEK_HOURS;
+            default -> throw new IllegalArgumentException("Unknown window: " + window);
+        };
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RESULTS);
+        }
+        synchronized (counter) {
+            return counter.top(hours, currentHour(), limit).stream()
+                    .map(trend -> new TrendingRestaurantResponse(trend.name(), trend.count()))
+                    .toList();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantAdded(RestaurantAddedEvent event) {
+        record(SUBMISSIONS, event.restaurant());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantMerged(RestaurantMergedEvent event) {
+        record(SUBMISSIONS, event.restaurant());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionLocked(SessionLockedEvent event) {
+        if (event.randomRestaurant() != null) {
+            record(PICKS, event.randomRestaurant());
+        }
+    }
+
+    private void record(String metric, Restaurant restaurant) {
+        String key = Restaurant.normalizeName(restaurant.getRestaurantName());
+        if (key.isEmpty()) {
+            return;
+        }
+        TrendingCounter counter = counters.get(metric);
+        synchronized (counter) {
+            counter.add(key, restaurant.getRestaurantName().trim(), currentHour());
+        }
+    }
+
+    // only hours that changed since the last run are written, normally just the current one
+    @Scheduled(fixedDelayString = "${app.trending.checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        checkpointLock.lock();
+        try {
+            counters.forEach((metric, counter) -> {
+                Map<Long, byte[]> dirty;
+                long oldestHour;
+                synchronized (counter) {
+                    dirty = counter.drainDirty();
+                    oldestHour = counter.oldestRetainedHour();
+                }
+                if (dirty.isEmpty()) {
+                    return;
+                }
+                try {
+                    txTemplate.executeWithoutResult(status -> {
+                        dirty.forEach((hour, data) -> {
+                            TrendingBucket bucket = bucketRepo.findByMetricAndBucketHour(metric, hour)
+                                    .orElseGet(() -> new TrendingBucket(metric, hour));
+                            bucket.setData(data);
+                            bucket.setCheckpointedAt(LocalDateTime.now());
+                            bucketRepo.save(bucket);
+                        });
+                        bucketRepo.deleteOlderThan(metric, oldestHour);
+                    });
+                } catch (RuntimeException e) {
+                    logger.warn("Trending checkpoint for {} failed, retrying with the next one", metric, e);
+                    synchronized (counter) {
+                        dirty.keySet().forEach(counter::markDirty);
+                    }
+                }
+            });
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    private void restore() {
+        long hour = currentHour();
+        try {
+            // per metric, so each read is a range on the (metric, bucket_hour) key
+            counters.forEach((metric, counter) -> {
+                Map<Long, byte[]> buckets = new HashMap<>();
+                for (TrendingBucket bucket : bucketRepo.findByMetricAndBucketHourGreaterThanEqual(metric, hour - WEEK_HOURS + 1)) {
+                    buckets.put(bucket.getBucketHour(), bucket.getData());
+                }
+                if (!buckets.isEmpty()) {
+                    counter.restore(buckets, hour);
+                    logger.info("Restored {} hours of trending {}", buckets.size(), metric);
+                }
+            });
+        } catch (RuntimeException e) {
+            // trending is a view, start empty rather than keep the application from starting
+            logger.error("Could not restore trending checkpoint, starting with empty windows", e);
+        }
+    }
+
+    private static long currentHour() {
+        return TimeUnit.MILLISECONDS.toHours(System.currentTimeMillis());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+
+}
@@ -5,22 +5,40 @@ import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.eatwhat.backend.model.User;
 import com.eatwhat.backend.repository.UserRepository;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+
 @Service
+@Timed("service.calls")
 public class UserService {
     
     @Autowired
     private UserRepository userRepo;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // lookups run read-only, which lets them go to the replica when one is configured
+    private TransactionTemplate readTx;
+
+    @PostConstruct
+    public void init() {
+        readTx = new TransactionTemplate(transactionManager);
+        readTx.setReadOnly(true);
+    }
+
     public List<User> getAllUsers() {
         return userRepo.findAll();
     }
 
     public Optional<User> getUserByUsername(String username) {
-        return userRepo.findByUsername(username);
+        return readTx.execute(status -> userRepo.findByUsername(username));
     }
 
     public User saveUser(User user) {
@@ -28,23 +46,24 @@ public class UserService {
     }
 
     public boolean canInitiateSession(String username) {
-        Optional<User> user = userRepo.findByUsername(username);
+        Optional<User> user = getUserByUsername(username);
         return user.isPresent() && user.get().getRole() == User.UserRole.SESSION_INITIATOR;
     }
 
     public boolean userExists(String username) {
-        return userRepo.existsByUsername(username);
+        return Boolean.TRUE.equals(readTx.execute(status -> userRepo.existsByUsername(username)));
     }
 
     public boolean emailExists(String email) {
-        return userRepo.existsByEmail(email);
+        return Boolean.TRUE.equals(readTx.execute(status -> userRepo.existsByEmail(email)));
     }
 
     public User createUser(String username, String email, User.UserRole role) {
-        if (userExists(username)){
+        // checked on the primary, a lagging replica could miss a user registered a moment ago
+        if (userRepo.existsByUsername(username)){
             throw new IllegalArgumentException("Username already exists: " + username);
         }
-        if (emailExists(email)){
+        if (userRepo.existsByEmail(email)){
             throw new IllegalArgumentException("Email already exists: " + email);
         }
 
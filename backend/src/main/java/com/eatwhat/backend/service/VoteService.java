@@ -0,0 +1,336 @@
+package com.eatwhat.backend.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eatwhat.backend.dto.VoteTallyResponse;
+import com.eatwhat.backend.event.RestaurantDeletedEvent;
+import com.eatwhat.backend.event.SessionsArchivedEvent;
+import com.eatwhat.backend.event.VoteChangedEvent;
+import com.eatwhat.backend.repository.RestaurantRepository;
+import com.eatwhat.backend.repository.RestaurantVoteRepository;
+import com.eatwhat.backend.repository.SessionMetadata;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Live vote tallies, one vote per user per restaurant. Each restaurant counts on a
+ * LongAdder, which stripes increments across cells so a burst on a popular entry
+ * does not contend on one counter. Tallies are read from memory; accepted votes
+ * are queued and written to MySQL in periodic batches, and a session's tallies
+ * take in the votes other instances have written every app.votes.reload-ms.
+ */
+@Service
+@Timed("service.calls")
+public class VoteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteService.class);
+
+    private static final String INSERT_VOTE =
+            "insert ignore into restaurant_votes (session_id, restaurant_id, username, voted_at) values (?, ?, ?, ?)";
+
+    @Autowired
+    private SessionService sessionSvc;
+
+    @Autowired
+    private RestaurantRepository restaurantRepo;
+
+    @Autowired
+    private RestaurantVoteRepository voteRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.votes.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${app.votes.idle-evict-ms:600000}")
+    private long idleEvictMs;
+
+    @Value("${app.votes.reload-ms:5000}")
+    private long reloadMs;
+
+    private final Map<String, SessionVotes> sessions = new ConcurrentHashMap<>();
+    private final Queue<PendingVote> pendingVotes = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> deletedRestaurants = new ConcurrentLinkedQueue<>();
+
+    // a lock rather than synchronized, the flush holds it across JDBC calls
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private TransactionTemplate txTemplate;
+    // not read-only: tallies live in memory once loaded, so they come from the primary, never a replica
+    private TransactionTemplate loadTx;
+
+    @PostConstruct
+    public void init() {
+        txTemplate = new TransactionTemplate(transactionManager);
+        loadTx = new TransactionTemplate(transactionManager);
+    }
+
+    // voting again for the same restaurant is a no-op, so client retries are safe
+    public VoteTallyResponse vote(String sessionCode, Long restaurantId, String username) {
+        if (username == null || username.isBlank()) {
+            throw new IllegalArgumentException("Username is required");
+        }
+        if (sessionSvc.isSessionLocked(sessionCode)) {
+            throw new IllegalStateException("Cannot vote in locked session");
+        }
+
+        SessionVotes session = load(sessionCode);
+        Tally tally = session.tallies.get(restaurantId);
+        if (tally == null) {
+            // submitted after the tallies were loaded, or not in this session at all
+            Boolean exists = loadTx.execute(status -> restaurantRepo.existsInSession(restaurantId, session.sessionId));
+            if (!Boolean.TRUE.equals(exists)) {
+                throw new IllegalArgumentException("Restaurant not found: " + restaurantId);
+            }
+            tally = session.tallies.computeIfAbsent(restaurantId, id -> new Tally());
+        }
+
+        boolean added = tally.voters.add(username);
+        if (added) {
+            tally.votes.increment();
+            session.pending.incrementAndGet();
+            pendingVotes.add(new PendingVote(session, restaurantId, username, LocalDateTime.now()));
+        }
+        session.touch();
+        long votes = tally.votes.sum();
+        if (added) {
+            eventPublisher.publishEvent(new VoteChangedEvent(sessionCode, restaurantId, votes));
+        }
+        return new VoteTallyResponse(restaurantId, votes, true);
+    }
+
+    // highest count first; username may be null when the caller only wants the counts
+    public List<VoteTallyResponse> getTallies(String sessionCode, String username) {
+        SessionVotes session = load(sessionCode);
+        session.touch();
+        List<VoteTallyResponse> tallies = new ArrayList<>(session.tallies.size());
+        session.tallies.forEach((restaurantId, tally) -> tallies.add(
+                new VoteTallyResponse(restaurantId, tally.votes.sum(), username != null && tally.voters.contains(username))));
+        tallies.sort(Comparator.comparingLong(VoteTallyResponse::getVotes).reversed()
+                .thenComparing(VoteTallyResponse::getRestaurantId));
+        return tallies;
+    }
+
+    // restaurant id to vote count for every voted restaurant, as written by all instances; this instance's
+    // queue is flushed first, so only votes another instance has not flushed yet can be missing
+    Map<Long, Long> getFlushedTallies(String sessionCode) {
+        SessionMetadata metadata = sessionSvc.getSessionMetadata(sessionCode)
+                .orElseThrow(() -> new IllegalArgumentException("Session not found: " + sessionCode));
+        if (!writePending()) {
+            throw new IllegalStateException("Votes are still being saved, please retry: " + sessionCode);
+        }
+        Map<Long, Long> tallies = new HashMap<>();
+        loadTx.executeWithoutResult(status -> restaurantRepo.findVoteCountsBySessionId(metadata.id())
+                .forEach(count -> tallies.put(count.getId(), count.getVoteCount())));
+        return tallies;
+    }
+
+    private SessionVotes load(String sessionCode) {
+        SessionVotes loaded = sessions.get(sessionCode);
+        if (loaded != null) {
+            if (loaded.claimReload(reloadMs)) {
+                readVotes(loaded);
+            }
+            return loaded;
+        }
+        SessionMetadata metadata = sessionSvc.getSessionMetadata(sessionCode)
+                .orElseThrow(() -> new IllegalArgumentException("Session not found: " + sessionCode));
+
+        SessionVotes session = new SessionVotes(metadata.id());
+        readVotes(session);
+        // a concurrent loader may have won, everyone uses its copy
+        SessionVotes existing = sessions.putIfAbsent(sessionCode, session);
+        return existing != null ? existing : session;
+    }
+
+    // merges the restaurants and vote rows in MySQL into the tallies; votes are never taken back,
+    // so the union keeps both this instance's unflushed votes and those flushed elsewhere
+    private void readVotes(SessionVotes session) {
+        loadTx.executeWithoutResult(status -> {
+            for (Long restaurantId : restaurantRepo.findIdsBySessionId(session.sessionId, Pageable.unpaged())) {
+                session.tallies.computeIfAbsent(restaurantId, id -> new Tally());
+            }
+            for (RestaurantVoteRepository.VoterView voter : voteRepo.findVotersBySessionId(session.sessionId)) {
+                Tally tally = session.tallies.get(voter.getRestaurantId());
+                if (tally != null && tally.voters.add(voter.getUsername())) {
+                    tally.votes.increment();
+                }
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantDeleted(RestaurantDeletedEvent event) {
+        SessionVotes session = sessions.get(event.sessionCode());
+        if (session != null) {
+            session.tallies.remove(event.restaurantId());
+        }
+        // its vote rows may exist even if the session is not loaded here
+        deletedRestaurants.add(event.restaurantId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionsArchived(SessionsArchivedEvent event) {
+        for (String sessionCode : event.sessionCodes()) {
+            SessionVotes session = sessions.remove(sessionCode);
+            if (session != null) {
+                session.archived = true;
+            }
+        }
+    }
+
+    // unflushed votes would be lost if the session were archived now
+    public boolean hasPendingVotes(String sessionCode) {
+        SessionVotes session = sessions.get(sessionCode);
+        return session != null && session.pending.get() > 0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.votes.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            writePending();
+            evictIdle();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // false when the write failed and the votes are queued again
+    private boolean writePending() {
+        flushLock.lock();
+        try {
+            List<PendingVote> votes = drain(pendingVotes);
+            List<Long> deleted = drain(deletedRestaurants);
+            if (votes.isEmpty() && deleted.isEmpty()) {
+                return true;
+            }
+            try {
+                txTemplate.executeWithoutResult(status -> write(votes, deleted));
+                votes.forEach(vote -> vote.session().pending.decrementAndGet());
+                logger.debug("Flushed {} votes and {} deleted restaurants", votes.size(), deleted.size());
+                return true;
+            } catch (RuntimeException e) {
+                // nothing was committed, keep everything for the next run
+                logger.warn("Vote flush of {} votes failed, retrying on the next run", votes.size(), e);
+                pendingVotes.addAll(votes);
+                deletedRestaurants.addAll(deleted);
+                return false;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write(List<PendingVote> votes, List<Long> deleted) {
+        // votes for a restaurant deleted or a session archived since they were cast are dropped
+        List<PendingVote> live = votes.stream()
+                .filter(vote -> !vote.session().archived && vote.session().tallies.containsKey(vote.restaurantId()))
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_VOTE, live, flushBatchSize, (ps, vote) -> {
+            ps.setLong(1, vote.session().sessionId);
+            ps.setLong(2, vote.restaurantId());
+            ps.setString(3, vote.username());
+            ps.setTimestamp(4, Timestamp.valueOf(vote.votedAt()));
+        });
+
+        Set<Long> changed = new LinkedHashSet<>();
+        live.forEach(vote -> changed.add(vote.restaurantId()));
+        if (!deleted.isEmpty()) {
+            voteRepo.deleteByRestaurantIds(deleted);
+            deleted.forEach(changed::remove);
+        }
+        List<Long> ids = new ArrayList<>(changed);
+        for (int i = 0; i < ids.size(); i += flushBatchSize) {
+            restaurantRepo.refreshVoteCounts(ids.subList(i, Math.min(i + flushBatchSize, ids.size())));
+        }
+    }
+
+    // a session with unflushed votes stays, reloading it would miss them
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleEvictMs;
+        sessions.entrySet().removeIf(entry -> entry.getValue().lastAccess < cutoff && entry.getValue().pending.get() == 0);
+    }
+
+    private static <T> List<T> drain(Queue<T> queue) {
+        List<T> drained = new ArrayList<>();
+        for (T item = queue.poll(); item != null; item = queue.poll()) {
+            drained.add(item);
+        }
+        return drained;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private static final class SessionVotes {
+        final Long sessionId;
+        final Map<Long, Tally> tallies = new ConcurrentHashMap<>();
+        final AtomicInteger pending = new AtomicInteger();
+        final AtomicLong readAt = new AtomicLong(System.currentTimeMillis());
+        volatile long lastAccess = System.currentTimeMillis();
+        volatile boolean archived = false;
+
+        SessionVotes(Long sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+
+        // only one caller rereads a session that is due
+        boolean claimReload(long reloadMs) {
+            long last = readAt.get();
+            long now = System.currentTimeMillis();
+            return now - last >= reloadMs && readAt.compareAndSet(last, now);
+        }
+    }
+
+    private static final class Tally {
+        final LongAdder votes = new LongAdder();
+        final Set<String> voters = ConcurrentHashMap.newKeySet();
+    }
+
+    private record PendingVote(SessionVotes session, Long restaurantId, String username, LocalDateTime votedAt) {}
+
+}
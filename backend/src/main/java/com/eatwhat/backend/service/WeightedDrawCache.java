@@ -0,0 +1,175 @@
+package com.eatwhat.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.eatwhat.backend.event.RestaurantAddedEvent;
+import com.eatwhat.backend.event.RestaurantDeletedEvent;
+import com.eatwhat.backend.event.RestaurantMergedEvent;
+import com.eatwhat.backend.event.SessionLockedEvent;
+import com.eatwhat.backend.model.Restaurant;
+
+/**
+ * Per-session alias tables for the weighted draw. A restaurant weighs its own
+ * weight plus one for every further participant who submitted its name, so a
+ * place several people suggested is proportionally more likely. Rows from before
+ * names were merged on submit are grouped by name here instead.
+ * <p>
+ * Add and delete events update the name groups in O(1); an alias table cannot be
+ * patched in place, so it is rebuilt on the next draw after a change and reused
+ * by every draw until the following one. Events are local to this instance, so
+ * entries also expire after a TTL.
+ */
+@Component
+public class WeightedDrawCache {
+
+    @Value("${app.weighted-draw.max-sessions:1000}")
+    private int maxSessions;
+
+    @Value("${app.weighted-draw.ttl-ms:30000}")
+    private long ttlMs;
+
+    private final Map<String, SessionWeights> sessions = new ConcurrentHashMap<>();
+
+    // the loader supplies the session's restaurants in submission order when nothing usable is cached
+    Restaurant sample(String sessionCode, Supplier<List<Restaurant>> loader, Random random) {
+        SessionWeights weights = sessions.get(sessionCode);
+        if (weights == null || weights.expired(ttlMs)) {
+            weights = new SessionWeights(loader.get());
+            if (sessions.size() < maxSessions || sessions.containsKey(sessionCode)) {
+                sessions.put(sessionCode, weights);
+            }
+        }
+        return weights.sample(random);
+    }
+
+    void invalidate(String sessionCode) {
+        sessions.remove(sessionCode);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantAdded(RestaurantAddedEvent event) {
+        SessionWeights weights = sessions.get(event.sessionCode());
+        if (weights != null) {
+            weights.add(event.restaurant());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantMerged(RestaurantMergedEvent event) {
+        SessionWeights weights = sessions.get(event.sessionCode());
+        if (weights != null) {
+            weights.remove(event.restaurant().getId());
+            weights.add(event.restaurant());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantDeleted(RestaurantDeletedEvent event) {
+        SessionWeights weights = sessions.get(event.sessionCode());
+        if (weights != null) {
+            weights.remove(event.restaurantId());
+        }
+    }
+
+    // nothing is drawn from a locked session again
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionLocked(SessionLockedEvent event) {
+        sessions.remove(event.sessionCode());
+    }
+
+    @Scheduled(fixedDelayString = "${app.weighted-draw.ttl-ms:30000}")
+    public void purgeExpired() {
+        sessions.values().removeIf(weights -> weights.expired(ttlMs));
+    }
+
+    static long drawWeight(Restaurant restaurant) {
+        return Math.max(restaurant.getWeight(), Restaurant.DEFAULT_WEIGHT) + Math.max(restaurant.getSubmitterCount() - 1, 0);
+    }
+
+    /**
+     * Name groups of one session plus the alias table over them, null while stale.
+     */
+    static final class SessionWeights {
+
+        private final long loadedAt = System.currentTimeMillis();
+        private final Map<String, Group> groups = new LinkedHashMap<>();
+        private final Map<Long, Group> byId = new HashMap<>();
+        // as counted when added, the restaurant object may change afterwards
+        private final Map<Long, Long> addedWeights = new HashMap<>();
+        private List<Group> columns;
+        private AliasSampler sampler;
+
+        SessionWeights(List<Restaurant> restaurants) {
+            restaurants.forEach(this::add);
+        }
+
+        boolean expired(long ttlMs) {
+            return System.currentTimeMillis() - loadedAt > ttlMs;
+        }
+
+        synchronized void add(Restaurant restaurant) {
+            if (byId.containsKey(restaurant.getId())) {
+                return;
+            }
+            Group group = groups.computeIfAbsent(Restaurant.normalizeName(restaurant.getRestaurantName()), Group::new);
+            long weight = drawWeight(restaurant);
+            group.restaurants.add(restaurant);
+            group.weight += weight;
+            byId.put(restaurant.getId(), group);
+            addedWeights.put(restaurant.getId(), weight);
+            sampler = null;
+        }
+
+        synchronized void remove(Long restaurantId) {
+            Group group = byId.remove(restaurantId);
+            if (group == null) {
+                return;
+            }
+            group.restaurants.removeIf(restaurant -> restaurant.getId().equals(restaurantId));
+            group.weight -= addedWeights.remove(restaurantId);
+            if (group.restaurants.isEmpty()) {
+                groups.remove(group.name);
+            }
+            sampler = null;
+        }
+
+        // the earliest submission stands for its name group
+        synchronized Restaurant sample(Random random) {
+            if (groups.isEmpty()) {
+                throw new IllegalStateException("No restaurants available in session");
+            }
+            if (sampler == null) {
+                columns = new ArrayList<>(groups.values());
+                long[] weights = new long[columns.size()];
+                for (int i = 0; i < weights.length; i++) {
+                    weights[i] = columns.get(i).weight;
+                }
+                sampler = new AliasSampler(weights);
+            }
+            return columns.get(sampler.sample(random)).restaurants.get(0);
+        }
+
+        private static final class Group {
+            final String name;
+            final List<Restaurant> restaurants = new ArrayList<>(1);
+            long weight;
+
+            Group(String name) {
+                this.name = name;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import com.eatwhat.backend.model.Restaurant;
+
+/**
+ * Fills normalized_name for restaurants from before it existed, before V5 makes it
+ * unique per session. Within a session the oldest row keeps a name; a later row that
+ * normalizes to the same name, or to nothing, keeps its own row and no key.
+ */
+public class V4__Normalize_restaurant_names extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (PreparedStatement select = connection.prepareStatement(
+                     "select id, session_id, restaurant_name from restaurants "
+                     + "where session_id > ? or (session_id = ? and id > ?) "
+                     + "order by session_id, id limit " + BATCH_SIZE);
+             PreparedStatement update = connection.prepareStatement(
+                     "update restaurants set normalized_name = ? where id = ?")) {
+            long afterSessionId = 0;
+            long afterId = 0;
+            Set<String> taken = new HashSet<>();
+            int rows;
+            do {
+                select.setLong(1, afterSessionId);
+                select.setLong(2, afterSessionId);
+                select.setLong(3, afterId);
+                rows = 0;
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        long sessionId = rs.getLong("session_id");
+                        if (sessionId != afterSessionId) {
+                            taken.clear();
+                        }
+                        afterSessionId = sessionId;
+                        afterId = rs.getLong("id");
+                        rows++;
+
+                        String normalizedName = Restaurant.normalizeName(rs.getString("restaurant_name"));
+                        if (!normalizedName.isEmpty() && taken.add(normalizedName)) {
+                            update.setString(1, normalizedName);
+                            update.setLong(2, afterId);
+                            update.addBatch();
+                        }
+                    }
+                }
+                update.executeBatch();
+            } while (rows == BATCH_SIZE);
+        }
+    }
+
+}
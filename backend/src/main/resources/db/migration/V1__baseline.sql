@@ -0,0 +1,153 @@
+-- Schema of the first release, as Hibernate created it through ddl-auto=update and
+-- spring.batch.jdbc.initialize-schema=always. Databases from that release already
+-- have it and are baselined at this version (spring.flyway.baseline-on-migrate);
+-- everything added since comes in the later migrations.
+
+create table users (
+    id bigint not null auto_increment,
+    username varchar(255) not null,
+    email varchar(255) not null,
+    role enum ('GUEST','SESSION_INITIATOR') not null,
+    created_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table users
+    add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+
+create table sessions (
+    id bigint not null auto_increment,
+    session_code varchar(255) not null,
+    initiator_id bigint not null,
+    status enum ('ACTIVE','LOCKED') not null,
+    created_at datetime(6) not null,
+    locked_at datetime(6),
+    random_restaurant_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+alter table sessions
+    add constraint UKm6whtfultl28a4xh4qwevxonm unique (session_code);
+
+create table restaurants (
+    id bigint not null auto_increment,
+    restaurant_name varchar(255) not null,
+    submitted_by varchar(255) not null,
+    session_id bigint not null,
+    submitted_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table restaurants
+    add constraint FKi8map84fgbso3jcacw99hsu8t
+    foreign key (session_id)
+    references sessions (id);
+
+alter table sessions
+    add constraint FKqcp31y8jg1cmdai4vcil8oky1
+    foreign key (initiator_id)
+    references users (id);
+
+alter table sessions
+    add constraint FK4x0fqg0sc28b33litpnc9idon
+    foreign key (random_restaurant_id)
+    references restaurants (id);
+
+-- Spring Batch 6 job repository, as in spring-batch-core's schema-mysql.sql
+
+CREATE TABLE BATCH_JOB_INSTANCE (
+	JOB_INSTANCE_ID BIGINT  NOT NULL PRIMARY KEY,
+	VERSION BIGINT,
+	JOB_NAME VARCHAR(100) NOT NULL,
+	JOB_KEY VARCHAR(32) NOT NULL,
+	constraint JOB_INST_UN unique (JOB_NAME, JOB_KEY)
+) ENGINE=InnoDB;
+
+CREATE TABLE BATCH_JOB_EXECUTION (
+	JOB_EXECUTION_ID BIGINT  NOT NULL PRIMARY KEY,
+	VERSION BIGINT,
+	JOB_INSTANCE_ID BIGINT NOT NULL,
+	CREATE_TIME DATETIME(6) NOT NULL,
+	START_TIME DATETIME(6) DEFAULT NULL,
+	END_TIME DATETIME(6) DEFAULT NULL,
+	STATUS VARCHAR(10),
+	EXIT_CODE VARCHAR(2500),
+	EXIT_MESSAGE VARCHAR(2500),
+	LAST_UPDATED DATETIME(6),
+	constraint JOB_INST_EXEC_FK foreign key (JOB_INSTANCE_ID)
+	references BATCH_JOB_INSTANCE(JOB_INSTANCE_ID)
+) ENGINE=InnoDB;
+
+CREATE TABLE BATCH_JOB_EXECUTION_PARAMS (
+	JOB_EXECUTION_ID BIGINT NOT NULL,
+	PARAMETER_NAME VARCHAR(100) NOT NULL,
+	PARAMETER_TYPE VARCHAR(100) NOT NULL,
+	PARAMETER_VALUE VARCHAR(2500),
+	IDENTIFYING CHAR(1) NOT NULL,
+	constraint JOB_EXEC_PARAMS_FK foreign key (JOB_EXECUTION_ID)
+	references BATCH_JOB_EXECUTION(JOB_EXECUTION_ID)
+) ENGINE=InnoDB;
+
+CREATE TABLE BATCH_STEP_EXECUTION (
+	STEP_EXECUTION_ID BIGINT  NOT NULL PRIMARY KEY,
+	VERSION BIGINT NOT NULL,
+	STEP_NAME VARCHAR(100) NOT NULL,
+	JOB_EXECUTION_ID BIGINT NOT NULL,
+	CREATE_TIME DATETIME(6) NOT NULL,
+	START_TIME DATETIME(6) DEFAULT NULL,
+	END_TIME DATETIME(6) DEFAULT NULL,
+	STATUS VARCHAR(10),
+	COMMIT_COUNT BIGINT,
+	READ_COUNT BIGINT,
+	FILTER_COUNT BIGINT,
+	WRITE_COUNT BIGINT,
+	READ_SKIP_COUNT BIGINT,
+	WRITE_SKIP_COUNT BIGINT,
+	PROCESS_SKIP_COUNT BIGINT,
+	ROLLBACK_COUNT BIGINT,
+	EXIT_CODE VARCHAR(2500),
+	EXIT_MESSAGE VARCHAR(2500),
+	LAST_UPDATED DATETIME(6),
+	constraint JOB_EXEC_STEP_FK foreign key (JOB_EXECUTION_ID)
+	references BATCH_JOB_EXECUTION(JOB_EXECUTION_ID)
+) ENGINE=InnoDB;
+
+CREATE TABLE BATCH_STEP_EXECUTION_CONTEXT (
+	STEP_EXECUTION_ID BIGINT NOT NULL PRIMARY KEY,
+	SHORT_CONTEXT VARCHAR(2500) NOT NULL,
+	SERIALIZED_CONTEXT TEXT,
+	constraint STEP_EXEC_CTX_FK foreign key (STEP_EXECUTION_ID)
+	references BATCH_STEP_EXECUTION(STEP_EXECUTION_ID)
+) ENGINE=InnoDB;
+
+CREATE TABLE BATCH_JOB_EXECUTION_CONTEXT (
+	JOB_EXECUTION_ID BIGINT NOT NULL PRIMARY KEY,
+	SHORT_CONTEXT VARCHAR(2500) NOT NULL,
+	SERIALIZED_CONTEXT TEXT,
+	constraint JOB_EXEC_CTX_FK foreign key (JOB_EXECUTION_ID)
+	references BATCH_JOB_EXECUTION(JOB_EXECUTION_ID)
+) ENGINE=InnoDB;
+
+CREATE TABLE BATCH_STEP_EXECUTION_SEQ (
+	ID BIGINT NOT NULL,
+	UNIQUE_KEY CHAR(1) NOT NULL,
+	constraint UNIQUE_KEY_UN unique (UNIQUE_KEY)
+) ENGINE=InnoDB;
+
+INSERT INTO BATCH_STEP_EXECUTION_SEQ (ID, UNIQUE_KEY) select * from (select 0 as ID, '0' as UNIQUE_KEY) as tmp where not exists(select * from BATCH_STEP_EXECUTION_SEQ);
+
+CREATE TABLE BATCH_JOB_EXECUTION_SEQ (
+	ID BIGINT NOT NULL,
+	UNIQUE_KEY CHAR(1) NOT NULL,
+	constraint UNIQUE_KEY_UN unique (UNIQUE_KEY)
+) ENGINE=InnoDB;
+
+INSERT INTO BATCH_JOB_EXECUTION_SEQ (ID, UNIQUE_KEY) select * from (select 0 as ID, '0' as UNIQUE_KEY) as tmp where not exists(select * from BATCH_JOB_EXECUTION_SEQ);
+
+CREATE TABLE BATCH_JOB_INSTANCE_SEQ (
+	ID BIGINT NOT NULL,
+	UNIQUE_KEY CHAR(1) NOT NULL,
+	constraint UNIQUE_KEY_UN unique (UNIQUE_KEY)
+) ENGINE=InnoDB;
+
+INSERT INTO BATCH_JOB_INSTANCE_SEQ (ID, UNIQUE_KEY) select * from (select 0 as ID, '0' as UNIQUE_KEY) as tmp where not exists(select * from BATCH_JOB_INSTANCE_SEQ);
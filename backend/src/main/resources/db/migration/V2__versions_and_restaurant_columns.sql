@@ -0,0 +1,37 @@
+-- Columns added since the first release. Existing sessions and restaurants get their
+-- versions numbered in submission order, so a client syncing from version 0 sees
+-- every restaurant and the oldest one has the lowest added_version.
+
+alter table sessions
+    add column version bigint not null default 0,
+    add column first_submitter varchar(255);
+
+alter table restaurants
+    add column normalized_name varchar(255),
+    add column added_version bigint not null default 0,
+    add column weight integer default 1 not null,
+    add column submitter_count integer default 1 not null,
+    add column vote_count bigint not null default 0;
+
+update restaurants r
+    join (select id, row_number() over (partition by session_id order by submitted_at, id) as added_version
+          from restaurants) numbered on numbered.id = r.id
+set r.added_version = numbered.added_version;
+
+update sessions s
+set version = (select count(*) from restaurants r where r.session_id = s.id);
+
+create index idx_restaurants_session_version
+    on restaurants (session_id, added_version);
+
+create index idx_restaurants_session_submitted
+    on restaurants (session_id, submitted_at, id);
+
+-- restaurant ids now come from a pooled table generator, see RestaurantIdAligner.
+-- The id column keeps its AUTO_INCREMENT, which still accepts the ids handed out here.
+create table restaurants_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into restaurants_seq (next_val)
+select coalesce(max(id), 0) + 1 from restaurants;
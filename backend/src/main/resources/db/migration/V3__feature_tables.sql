@@ -0,0 +1,92 @@
+-- Tables added since the first release
+
+create table session_code_counter (
+    id bigint not null,
+    next_value bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table restaurant_tombstones (
+    id bigint not null auto_increment,
+    session_id bigint not null,
+    restaurant_id bigint not null,
+    removed_version bigint not null,
+    removed_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_tombstones_session_version
+    on restaurant_tombstones (session_id, removed_version);
+
+create table restaurant_votes (
+    id bigint not null auto_increment,
+    session_id bigint not null,
+    restaurant_id bigint not null,
+    username varchar(255) not null,
+    voted_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_restaurant_votes_session
+    on restaurant_votes (session_id);
+
+alter table restaurant_votes
+    add constraint uk_restaurant_votes_restaurant_user unique (restaurant_id, username);
+
+create table restaurant_submitters (
+    id bigint not null auto_increment,
+    session_id bigint not null,
+    restaurant_id bigint not null,
+    username varchar(255) not null,
+    submitted_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_restaurant_submitters_session
+    on restaurant_submitters (session_id);
+
+alter table restaurant_submitters
+    add constraint uk_restaurant_submitters_restaurant_user unique (restaurant_id, username);
+
+create table trending_buckets (
+    id bigint not null auto_increment,
+    metric varchar(20) not null,
+    bucket_hour bigint not null,
+    data longblob not null,
+    checkpointed_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table trending_buckets
+    add constraint uk_trending_buckets_metric_hour unique (metric, bucket_hour);
+
+create table sessions_archive (
+    id bigint not null,
+    session_code varchar(255) not null,
+    initiator_id bigint not null,
+    status varchar(20) not null,
+    created_at datetime(6) not null,
+    locked_at datetime(6),
+    random_restaurant_id bigint,
+    archived_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_sessions_archive_code
+    on sessions_archive (session_code);
+
+create table restaurants_archive (
+    id bigint not null,
+    session_id bigint not null,
+    restaurant_name varchar(255) not null,
+    submitted_by varchar(255) not null,
+    submitted_at datetime(6) not null,
+    weight integer not null,
+    submitter_count integer not null,
+    vote_count bigint not null,
+    archived_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_restaurants_archive_session
+    on restaurants_archive (session_id);
@@ -0,0 +1,3 @@
+-- added once V4 has filled normalized_name; rows it left null never collide
+alter table restaurants
+    add constraint uk_restaurants_session_normalized_name unique (session_id, normalized_name);
@@ -0,0 +1,14 @@
+-- registration checks whether an email is taken, which scanned every user.
+-- session_code and username need nothing more: their unique keys already resolve
+-- a lookup to a single row, and the optimizer reads that row by the unique key
+-- even when a wider covering index exists.
+create index idx_users_email
+    on users (email);
+
+-- sessions that had restaurants before first_submitter existed, filled once here
+-- instead of by an update over all sessions at every startup
+update sessions s
+set first_submitter = (select r.submitted_by from restaurants r where r.session_id = s.id
+                       order by r.added_version limit 1)
+where s.first_submitter is null
+  and exists (select 1 from restaurants r where r.session_id = s.id);
@@ -0,0 +1,4 @@
+-- the active sessions and restaurants gauges count by status; both counts are
+-- covered by this index and the restaurants' session_id key
+create index idx_sessions_status
+    on sessions (status);
@@ -0,0 +1,98 @@
+package com.eatwhat.backend.config;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import com.eatwhat.backend.BackendApplication;
+import com.eatwhat.backend.model.User;
+import com.eatwhat.backend.service.RestaurantService;
+import com.eatwhat.backend.service.SessionService;
+import com.eatwhat.backend.service.UserService;
+
+/**
+ * Requests per second of the restaurant list endpoint, first with the default
+ * logging and then with the prod profile's. Not part of the regular test run:
+ * mvn test -Dtest=LoggingThroughputBenchmark
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class LoggingThroughputBenchmark {
+
+	private static final int CLIENTS = 16;
+	private static final Duration WARMUP = Duration.ofSeconds(10);
+	private static final Duration MEASURE = Duration.ofSeconds(20);
+
+	@Container
+	static MySQLContainer mysql = new MySQLContainer("mysql:8.4");
+
+	@Test
+	void defaultVersusProdLogging() throws Exception {
+		double plain = requestsPerSecond("plain");
+		double prod = requestsPerSecond("prod", "prod");
+		System.out.printf("default logging: %.0f req/s%nprod logging:    %.0f req/s (%.2fx)%n", plain, prod, prod / plain);
+	}
+
+	private double requestsPerSecond(String initiator, String... profiles) throws Exception {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+				.profiles(profiles)
+				.run("--server.port=0", "--spring.batch.job.enabled=false",
+						"--spring.datasource.url=" + mysql.getJdbcUrl(),
+						"--spring.datasource.username=" + mysql.getUsername(),
+						"--spring.datasource.password=" + mysql.getPassword())) {
+			context.getBean(UserService.class).createUser(initiator, initiator + "@example.com", User.UserRole.SESSION_INITIATOR);
+			String code = context.getBean(SessionService.class).createSession(initiator).getSessionCode();
+			RestaurantService restaurants = context.getBean(RestaurantService.class);
+			for (int i = 0; i < 20; i++) {
+				restaurants.submitRestaurant(code, "Restaurant " + i, initiator);
+			}
+
+			URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+					+ "/api/v1/sessions/" + code + "/restaurants");
+			run(uri, WARMUP);
+			return run(uri, MEASURE) / (double) MEASURE.toSeconds();
+		}
+	}
+
+	// total responses from CLIENTS threads requesting back to back for the duration
+	private static long run(URI uri, Duration duration) throws Exception {
+		HttpClient http = HttpClient.newHttpClient();
+		HttpRequest request = HttpRequest.newBuilder(uri).build();
+		AtomicBoolean running = new AtomicBoolean(true);
+		LongAdder responses = new LongAdder();
+		ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+		List<Future<?>> results = new ArrayList<>();
+		for (int i = 0; i < CLIENTS; i++) {
+			results.add(clients.submit(() -> {
+				while (running.get()) {
+					http.send(request, HttpResponse.BodyHandlers.discarding());
+					responses.increment();
+				}
+				return null;
+			}));
+		}
+		Thread.sleep(duration);
+		running.set(false);
+		for (Future<?> result : results) {
+			result.get();
+		}
+		clients.shutdown();
+		return responses.sum();
+	}
+
+}
@@ -0,0 +1,131 @@
+package com.eatwhat.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import com.eatwhat.backend.model.User;
+import com.eatwhat.backend.repository.UserRepository;
+import com.eatwhat.backend.service.UserService;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Runs against two independent databases standing in for a primary and its
+ * replica. Nothing replicates between them, so a row inserted into only one of
+ * them shows which one served a read.
+ */
+@SpringBootTest(properties = "spring.batch.job.enabled=false")
+@Testcontainers(disabledWithoutDocker = true)
+class ReplicaRoutingTest {
+
+	@Container
+	@ServiceConnection
+	static MySQLContainer primary = new MySQLContainer("mysql:8.4");
+
+	@Container
+	static MySQLContainer replica = new MySQLContainer("mysql:8.4");
+
+	@DynamicPropertySource
+	static void replicaProperties(DynamicPropertyRegistry registry) {
+		registry.add("app.datasource.replica.url", replica::getJdbcUrl);
+		registry.add("app.datasource.replica.username", replica::getUsername);
+		registry.add("app.datasource.replica.password", replica::getPassword);
+	}
+
+	@BeforeAll
+	static void migrateReplica() {
+		Flyway.configure()
+				.dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+				.load()
+				.migrate();
+		replicaJdbc().update("insert into users (username, email, role, created_at) "
+				+ "values ('on-replica', 'on-replica@example.com', 'GUEST', now())");
+	}
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Autowired
+	private PrimaryPinFilter pinFilter;
+
+	@Test
+	void readOnlyTransactionsGoToTheReplica() {
+		insertOnPrimary("on-primary");
+
+		assertTrue(userService.userExists("on-replica"));
+		assertFalse(userService.userExists("on-primary"));
+	}
+
+	@Test
+	void readsOutsideATransactionStayOnThePrimary() {
+		insertOnPrimary("plain-read");
+
+		assertTrue(userRepository.existsByUsername("plain-read"));
+		assertFalse(userRepository.existsByUsername("on-replica"));
+	}
+
+	@Test
+	void aWriteKeepsTheClientOnThePrimary() throws Exception {
+		insertOnPrimary("just-written");
+
+		MockHttpServletResponse postResponse = new MockHttpServletResponse();
+		pinFilter.doFilter(new MockHttpServletRequest("POST", "/api/users"), postResponse, (req, res) -> { });
+		Cookie cookie = postResponse.getCookie(PrimaryPinFilter.COOKIE);
+		assertNotNull(cookie);
+
+		MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/users/just-written");
+		get.setCookies(cookie);
+		AtomicBoolean seen = new AtomicBoolean();
+		pinFilter.doFilter(get, new MockHttpServletResponse(), (req, res) -> seen.set(userService.userExists("just-written")));
+		assertTrue(seen.get());
+
+		// without the cookie the same read is back on the replica
+		MockHttpServletRequest anonymous = new MockHttpServletRequest("GET", "/api/users/just-written");
+		pinFilter.doFilter(anonymous, new MockHttpServletResponse(), (req, res) -> seen.set(userService.userExists("just-written")));
+		assertFalse(seen.get());
+	}
+
+	@Test
+	void writesGoToThePrimary() {
+		userService.createUser("created", "created@example.com", User.UserRole.GUEST);
+
+		assertEquals(1, jdbc.queryForObject("select count(*) from users where username = 'created'", Integer.class));
+		assertEquals(0, replicaJdbc().queryForObject("select count(*) from users where username = 'created'", Integer.class));
+	}
+
+	private void insertOnPrimary(String username) {
+		jdbc.update("insert into users (username, email, role, created_at) values (?, ?, 'GUEST', now())",
+				username, username + "@example.com");
+	}
+
+	private static JdbcTemplate replicaJdbc() {
+		return new JdbcTemplate(new DriverManagerDataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword()));
+	}
+
+}
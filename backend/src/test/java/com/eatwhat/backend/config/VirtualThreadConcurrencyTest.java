@@ -0,0 +1,179 @@
+package com.eatwhat.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import com.eatwhat.backend.BackendApplication;
+import com.eatwhat.backend.model.User;
+import com.eatwhat.backend.service.RestaurantService;
+import com.eatwhat.backend.service.SessionService;
+import com.eatwhat.backend.service.UserService;
+
+/**
+ * Loads the restaurant count endpoint while every JDBC statement is held for
+ * LATENCY, standing in for a distant database. On platform threads at most
+ * PLATFORM_THREADS requests can wait on it at once; on virtual threads every
+ * client can, up to the connection pool size.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class VirtualThreadConcurrencyTest {
+
+	private static final int PLATFORM_THREADS = 10;
+	private static final int CLIENTS = 80;
+	private static final int POOL_SIZE = 100;
+	private static final Duration LATENCY = Duration.ofMillis(500);
+	private static final Duration WARMUP = Duration.ofSeconds(3);
+	private static final Duration MEASURE = Duration.ofSeconds(10);
+
+	private static volatile Duration injectedLatency = Duration.ZERO;
+
+	@Container
+	static MySQLContainer mysql = new MySQLContainer("mysql:8.4");
+
+	@Test
+	void virtualThreadsScaleBeyondThePlatformPool() throws Exception {
+		double platform = requestsPerSecond("platform", false);
+		double virtual = requestsPerSecond("virtual", true);
+		System.out.printf("%d platform threads: %.0f req/s%nvirtual threads:    %.0f req/s%n", PLATFORM_THREADS, platform, virtual);
+
+		// platform threads top out near PLATFORM_THREADS / LATENCY, virtual ones near CLIENTS / LATENCY
+		assertTrue(virtual > platform * 3, "virtual threads served " + virtual + " req/s against " + platform);
+	}
+
+	private double requestsPerSecond(String initiator, boolean virtualThreads) throws Exception {
+		// quiet logging, so the run waits on the database rather than on the CPU
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class, LatencyConfig.class)
+				.run("--server.port=0", "--spring.batch.job.enabled=false", "--spring.jpa.show-sql=false",
+						"--logging.level.com.eatwhat.backend=WARN",
+						"--spring.threads.virtual.enabled=" + virtualThreads,
+						"--server.tomcat.threads.max=" + PLATFORM_THREADS,
+						"--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+						"--spring.datasource.url=" + mysql.getJdbcUrl(),
+						"--spring.datasource.username=" + mysql.getUsername(),
+						"--spring.datasource.password=" + mysql.getPassword())) {
+			context.getBean(UserService.class).createUser(initiator, initiator + "@example.com", User.UserRole.SESSION_INITIATOR);
+			String code = context.getBean(SessionService.class).createSession(initiator).getSessionCode();
+			context.getBean(RestaurantService.class).submitRestaurant(code, "Restaurant", initiator);
+
+			URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+					+ "/api/v1/sessions/" + code + "/restaurants/count");
+			injectedLatency = LATENCY;
+			try {
+				run(uri, WARMUP);
+				return run(uri, MEASURE) / (double) MEASURE.toSeconds();
+			} finally {
+				injectedLatency = Duration.ZERO;
+			}
+		}
+	}
+
+	// total responses from CLIENTS threads requesting back to back for the duration
+	private static long run(URI uri, Duration duration) throws Exception {
+		HttpClient http = HttpClient.newHttpClient();
+		HttpRequest request = HttpRequest.newBuilder(uri).build();
+		AtomicBoolean running = new AtomicBoolean(true);
+		LongAdder responses = new LongAdder();
+		ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+		List<Future<?>> results = new ArrayList<>();
+		for (int i = 0; i < CLIENTS; i++) {
+			results.add(clients.submit(() -> {
+				while (running.get()) {
+					http.send(request, HttpResponse.BodyHandlers.discarding());
+					responses.increment();
+				}
+				return null;
+			}));
+		}
+		Thread.sleep(duration);
+		running.set(false);
+		for (Future<?> result : results) {
+			result.get();
+		}
+		clients.shutdown();
+		return responses.sum();
+	}
+
+	@Configuration
+	static class LatencyConfig {
+
+		@Bean
+		static BeanPostProcessor latencyInjectingDataSource() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					return bean instanceof DataSource dataSource && beanName.equals("dataSource")
+							? new LatencyInjectingDataSource(dataSource)
+							: bean;
+				}
+			};
+		}
+
+	}
+
+	// sleeps before every execute call, holding the pooled connection like a slow round trip would
+	static class LatencyInjectingDataSource extends DelegatingDataSource {
+
+		LatencyInjectingDataSource(DataSource target) {
+			super(target);
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			return (Connection) delayed(Connection.class, super.getConnection());
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			return (Connection) delayed(Connection.class, super.getConnection(username, password));
+		}
+
+		private static Object delayed(Class<?> type, Object target) {
+			return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+				if (method.getName().startsWith("execute") && !injectedLatency.isZero()) {
+					Thread.sleep(injectedLatency);
+				}
+				Object result;
+				try {
+					result = method.invoke(target, args);
+				} catch (InvocationTargetException e) {
+					throw e.getCause();
+				}
+				return result != null && Statement.class.isAssignableFrom(method.getReturnType())
+						? delayed(method.getReturnType(), result)
+						: result;
+			});
+		}
+
+	}
+
+}
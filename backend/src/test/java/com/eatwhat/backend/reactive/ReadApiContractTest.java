@@ -0,0 +1,157 @@
+package com.eatwhat.backend.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import com.eatwhat.backend.BackendApplication;
+import com.eatwhat.backend.model.User;
+import com.eatwhat.backend.service.RestaurantService;
+import com.eatwhat.backend.service.SessionService;
+import com.eatwhat.backend.service.UserService;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+/**
+ * Sends the same GETs to the MVC application and to the reactive read module,
+ * both on one database, and expects the same status, ETag and body from each.
+ */
+// classes is needed, the nearest @SpringBootConfiguration from this package is ReactiveReadApplication
+@SpringBootTest(classes = BackendApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = "spring.batch.job.enabled=false")
+@Testcontainers(disabledWithoutDocker = true)
+class ReadApiContractTest {
+
+	@Container
+	@ServiceConnection
+	static MySQLContainer mysql = new MySQLContainer("mysql:8.4");
+
+	private static ConfigurableApplicationContext readApi;
+
+	private final HttpClient http = HttpClient.newHttpClient();
+	private final JsonMapper json = JsonMapper.builder().build();
+
+	@LocalServerPort
+	private int mvcPort;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private SessionService sessionService;
+
+	@Autowired
+	private RestaurantService restaurantService;
+
+	// started once the MVC context has migrated the schema
+	@BeforeEach
+	void startReadApi() {
+		if (readApi == null) {
+			readApi = new SpringApplicationBuilder(ReactiveReadApplication.class)
+					.web(WebApplicationType.REACTIVE)
+					.run("--server.port=0",
+							"--app.read-api.r2dbc.url=r2dbc:mysql://" + mysql.getHost() + ":"
+									+ mysql.getMappedPort(MySQLContainer.MYSQL_PORT) + "/" + mysql.getDatabaseName(),
+							"--app.read-api.r2dbc.username=" + mysql.getUsername(),
+							"--app.read-api.r2dbc.password=" + mysql.getPassword());
+		}
+	}
+
+	@AfterAll
+	static void stopReadApi() {
+		if (readApi != null) {
+			readApi.close();
+		}
+	}
+
+	@Test
+	void sessionRestaurantsAndCountMatchTheMvcEndpoints() throws Exception {
+		String code = newSession("contract");
+		restaurantService.submitRestaurant(code, "Pho Place", "contract");
+		restaurantService.submitRestaurant(code, "Taco Hut", "contract", 3);
+		assertSameResponses(code);
+
+		restaurantService.getRandomRestaurant(code);
+		assertSameResponses(code);
+	}
+
+	@Test
+	void conditionalGetsAndUnknownSessionsMatchTheMvcEndpoints() throws Exception {
+		String code = newSession("conditional");
+		restaurantService.submitRestaurant(code, "Noodle Bar", "conditional");
+
+		for (String path : new String[] { "", "/restaurants", "/restaurants/count" }) {
+			String eTag = get(mvcPort, code, path, null).headers().firstValue("ETag").orElseThrow();
+			HttpResponse<String> mvc = get(mvcPort, code, path, eTag);
+			HttpResponse<String> reactive = get(readApiPort(), code, path, eTag);
+			assertEquals(304, mvc.statusCode());
+			assertEquals(304, reactive.statusCode(), path);
+			assertEquals(mvc.headers().firstValue("ETag"), reactive.headers().firstValue("ETag"), path);
+
+			mvc = get(mvcPort, "NOSUCH1", path, null);
+			reactive = get(readApiPort(), "NOSUCH1", path, null);
+			assertEquals(mvc.statusCode(), reactive.statusCode(), path);
+			assertEquals(json.readTree(mvc.body()), json.readTree(reactive.body()), path);
+		}
+	}
+
+	private String newSession(String username) {
+		userService.createUser(username, username + "@example.com", User.UserRole.SESSION_INITIATOR);
+		return sessionService.createSession(username).getSessionCode();
+	}
+
+	private void assertSameResponses(String code) throws Exception {
+		for (String path : new String[] { "", "/restaurants", "/restaurants/count" }) {
+			HttpResponse<String> mvc = get(mvcPort, code, path, null);
+			HttpResponse<String> reactive = get(readApiPort(), code, path, null);
+			assertEquals(200, mvc.statusCode());
+			assertEquals(200, reactive.statusCode(), path);
+			assertNotNull(reactive.headers().firstValue("ETag").orElse(null), path);
+			assertEquals(mvc.headers().firstValue("ETag"), reactive.headers().firstValue("ETag"), path);
+			assertEquals(withoutProxyFields(json.readTree(mvc.body())), json.readTree(reactive.body()), path);
+		}
+	}
+
+	private HttpResponse<String> get(int port, String code, String path, String ifNoneMatch) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(
+				URI.create("http://localhost:" + port + "/api/v1/sessions/" + code + path));
+		if (ifNoneMatch != null) {
+			request.header("If-None-Match", ifNoneMatch);
+		}
+		return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private static int readApiPort() {
+		return Integer.parseInt(readApi.getEnvironment().getProperty("local.server.port"));
+	}
+
+	// lazy-loaded initiators and drawn restaurants carry an empty Hibernate proxy field in the MVC bodies
+	private static JsonNode withoutProxyFields(JsonNode node) {
+		if (node instanceof ObjectNode object) {
+			object.remove("hibernateLazyInitializer");
+		}
+		node.forEach(ReadApiContractTest::withoutProxyFields);
+		return node;
+	}
+
+}
@@ -0,0 +1,293 @@
+package com.eatwhat.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+/**
+ * Runs EXPLAIN for the SQL behind every repository query against the migrated
+ * schema and fails on a full table or full index scan. Each statement mirrors
+ * what Hibernate generates for the method, with literals in place of parameters;
+ * a new query method without an entry here fails the build as well.
+ */
+@SpringBootTest(properties = "spring.batch.job.enabled=false")
+@Testcontainers(disabledWithoutDocker = true)
+class RepositoryQueryPlanTest {
+
+	private static final int USERS = 5_000;
+	private static final int SESSIONS = 5_000;
+	private static final int RESTAURANTS_PER_SESSION = 10;
+
+	private static final List<Class<?>> REPOSITORIES = List.of(RestaurantRepository.class,
+			RestaurantSubmitterRepository.class, RestaurantTombstoneRepository.class, RestaurantVoteRepository.class,
+			SessionCodeCounterRepository.class, SessionRepository.class, TrendingBucketRepository.class,
+			UserRepository.class);
+
+	private static final Map<String, String> QUERIES = new LinkedHashMap<>();
+
+	static {
+		QUERIES.put("RestaurantRepository.findBySession",
+				"select * from restaurants where session_id = 42");
+		QUERIES.put("RestaurantRepository.findBySessionOrderBySubmittedAtAsc",
+				"select * from restaurants where session_id = 42 order by submitted_at");
+		QUERIES.put("RestaurantRepository.findBySessionAndAddedVersionGreaterThanOrderBySubmittedAtAsc",
+				"select * from restaurants where session_id = 42 and added_version > 5 order by submitted_at");
+		QUERIES.put("RestaurantRepository.countBySession",
+				"select count(id) from restaurants where session_id = 42");
+		QUERIES.put("RestaurantRepository.countBySessionStatus",
+				"select count(r.id) from restaurants r join sessions s on s.id = r.session_id where s.status = 'ACTIVE'");
+		QUERIES.put("RestaurantRepository.findFirstPage",
+				"select * from restaurants where session_id = 42 order by submitted_at, id limit 5");
+		QUERIES.put("RestaurantRepository.findPageAfter",
+				"select * from restaurants where session_id = 42 and (submitted_at > '2025-01-01 00:00:00' "
+						+ "or (submitted_at = '2025-01-01 00:00:00' and id > 420)) order by submitted_at, id limit 5");
+		QUERIES.put("RestaurantRepository.streamBySessionId",
+				"select id, restaurant_name, submitted_by, submitted_at, added_version, weight, submitter_count "
+						+ "from restaurants where session_id = 42 order by submitted_at, id");
+		QUERIES.put("RestaurantRepository.findIdsBySessionId",
+				"select id from restaurants where session_id = 42 order by added_version limit 100");
+		QUERIES.put("RestaurantRepository.findByIdForShare",
+				"select * from restaurants where id = 420 for share");
+		QUERIES.put("RestaurantRepository.existsInSession",
+				"select count(id) > 0 from restaurants where id = 420 and session_id = 42");
+		QUERIES.put("RestaurantRepository.refreshVoteCounts",
+				"update restaurants r set vote_count = (select count(v.id) from restaurant_votes v "
+						+ "where v.restaurant_id = r.id) where r.id in (420, 421, 422)");
+		QUERIES.put("RestaurantRepository.findVoteCountsBySessionId",
+				"select id, vote_count from restaurants where session_id = 42 and vote_count > 0");
+		QUERIES.put("RestaurantRepository.findNamesBySessionId",
+				"select id, normalized_name from restaurants where session_id = 42 and normalized_name is not null");
+		QUERIES.put("RestaurantRepository.findIdByNormalizedName",
+				"select id from restaurants where session_id = 42 and normalized_name = 'restaurant 3'");
+		QUERIES.put("RestaurantRepository.incrementSubmitterCount",
+				"update restaurants set submitter_count = submitter_count + 1 where id = 420");
+		QUERIES.put("RestaurantRepository.findSubmitterCountById",
+				"select submitter_count from restaurants where id = 420");
+		QUERIES.put("RestaurantRepository.findSuggestionRows",
+				"select id, restaurant_name, submitter_count from restaurants where id > 20000 and id <= 50000 "
+						+ "order by id limit 5000");
+		QUERIES.put("RestaurantRepository.findMaxId",
+				"select max(id) from restaurants");
+
+		QUERIES.put("RestaurantSubmitterRepository.addSubmitter",
+				"insert ignore into restaurant_submitters (session_id, restaurant_id, username, submitted_at) "
+						+ "values (42, 420, 'user7', now())");
+		QUERIES.put("RestaurantSubmitterRepository.findBySessionId",
+				"select restaurant_id, username from restaurant_submitters where session_id = 42");
+		QUERIES.put("RestaurantSubmitterRepository.deleteByRestaurantId",
+				"delete from restaurant_submitters where restaurant_id = 420");
+
+		QUERIES.put("RestaurantTombstoneRepository.findRemovedRestaurantIds",
+				"select restaurant_id from restaurant_tombstones where session_id = 42 and removed_version > 5");
+
+		QUERIES.put("RestaurantVoteRepository.findVotersBySessionId",
+				"select restaurant_id, username from restaurant_votes where session_id = 42");
+		QUERIES.put("RestaurantVoteRepository.deleteByRestaurantIds",
+				"delete from restaurant_votes where restaurant_id in (420, 421, 422)");
+
+		QUERIES.put("SessionCodeCounterRepository.advance",
+				"update session_code_counter set next_value = next_value + 1000 where id = 1");
+		QUERIES.put("SessionCodeCounterRepository.findNextValueById",
+				"select next_value from session_code_counter where id = 1");
+
+		QUERIES.put("SessionRepository.findBySessionCode",
+				"select * from sessions where session_code = 'CODE42'");
+		QUERIES.put("SessionRepository.existsBySessionCode",
+				"select id from sessions where session_code = 'CODE42' limit 1");
+		QUERIES.put("SessionRepository.countByStatus",
+				"select count(id) from sessions where status = 'ACTIVE'");
+		QUERIES.put("SessionRepository.findWithInitiatorBySessionCode",
+				"select * from sessions s join users i on i.id = s.initiator_id "
+						+ "left join restaurants r on r.id = s.random_restaurant_id where s.session_code = 'CODE42'");
+		QUERIES.put("SessionRepository.findMetadataBySessionCode",
+				"select s.id, s.session_code, s.status, i.id, i.username from sessions s "
+						+ "join users i on i.id = s.initiator_id where s.session_code = 'CODE42'");
+		QUERIES.put("SessionRepository.incrementVersionForSubmitIfActive",
+				"update sessions set version = version + 1, first_submitter = coalesce(first_submitter, 'user7') "
+						+ "where session_code = 'CODE42' and status = 'ACTIVE'");
+		QUERIES.put("SessionRepository.incrementVersionForRestaurantIfActive",
+				"update sessions set version = version + 1 where status = 'ACTIVE' and id = "
+						+ "(select r.session_id from restaurants r where r.id = 420 and r.submitted_by = 'user7')");
+		QUERIES.put("SessionRepository.claimFirstSubmitter",
+				"update sessions set first_submitter = 'user7' where id = 42 and first_submitter is null");
+		QUERIES.put("SessionRepository.refreshFirstSubmitter",
+				"update sessions s set first_submitter = (select r.submitted_by from restaurants r "
+						+ "where r.session_id = s.id order by r.added_version limit 1) "
+						+ "where s.id = 42 and s.first_submitter = 'user7'");
+		QUERIES.put("SessionRepository.findFirstSubmitterBySessionCode",
+				"select id, first_submitter from sessions where session_code = 'CODE42'");
+		QUERIES.put("SessionRepository.findVersionById",
+				"select version from sessions where id = 42");
+		QUERIES.put("SessionRepository.findVersionViewBySessionCode",
+				"select id, session_code, version from sessions where session_code = 'CODE42'");
+		QUERIES.put("SessionRepository.findVersionViewByRestaurantId",
+				"select s.id, s.session_code, s.version from restaurants r join sessions s on s.id = r.session_id "
+						+ "where r.id = 420");
+		QUERIES.put("SessionRepository.findVersionBySessionCode",
+				"select version from sessions where session_code = 'CODE42'");
+		QUERIES.put("SessionRepository.raiseVersion",
+				"update sessions set version = 99 where id = 42 and version < 99");
+		QUERIES.put("SessionRepository.markLocked",
+				"update sessions set status = 'LOCKED', locked_at = now(), random_restaurant_id = 420 where id = 42");
+		QUERIES.put("SessionRepository.lockIfActive",
+				"update sessions set status = 'LOCKED', locked_at = now(), random_restaurant_id = 420, "
+						+ "version = version + 1 where id = 42 and status = 'ACTIVE'");
+		QUERIES.put("SessionRepository.lockIfActiveByCode",
+				"update sessions set status = 'LOCKED', locked_at = now(), version = version + 1 "
+						+ "where session_code = 'CODE42' and status = 'ACTIVE'");
+
+		QUERIES.put("TrendingBucketRepository.findByMetricAndBucketHour",
+				"select * from trending_buckets where metric = 'picks' and bucket_hour = 250");
+		QUERIES.put("TrendingBucketRepository.findByMetricAndBucketHourGreaterThanEqual",
+				"select * from trending_buckets where metric = 'picks' and bucket_hour >= 480");
+		QUERIES.put("TrendingBucketRepository.deleteOlderThan",
+				"delete from trending_buckets where metric = 'picks' and bucket_hour < 20");
+
+		QUERIES.put("UserRepository.findByUsername",
+				"select id, username, email, role, created_at from users where username = 'user7'");
+		QUERIES.put("UserRepository.existsByUsername",
+				"select id from users where username = 'user7' limit 1");
+		QUERIES.put("UserRepository.existsByEmail",
+				"select id from users where email = 'user7@example.com' limit 1");
+	}
+
+	@Container
+	@ServiceConnection
+	static MySQLContainer mysql = new MySQLContainer("mysql:8.4")
+			.withUrlParam("rewriteBatchedStatements", "true");
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void everyQueryMethodHasAPlanCheck() {
+		Set<String> missing = new TreeSet<>();
+		for (Class<?> repository : REPOSITORIES) {
+			Arrays.stream(repository.getDeclaredMethods())
+					.filter(method -> !method.isDefault() && !method.isSynthetic())
+					.map(Method::getName)
+					.map(name -> repository.getSimpleName() + "." + name)
+					.filter(key -> !QUERIES.containsKey(key))
+					.forEach(missing::add);
+		}
+		assertTrue(missing.isEmpty(), "No EXPLAIN entry for " + missing);
+	}
+
+	@Test
+	void noQueryScansAWholeTable() {
+		seed();
+		List<String> fullScans = new ArrayList<>();
+		QUERIES.forEach((method, sql) -> {
+			for (Map<String, Object> row : jdbcTemplate.queryForList("explain " + sql)) {
+				// an insert has a plan row but reads nothing
+				if ("INSERT".equals(row.get("select_type"))) {
+					continue;
+				}
+				Object type = row.get("type");
+				if ("ALL".equals(type) || "index".equals(type)) {
+					fullScans.add(method + " (" + row.get("table") + ": type=" + type + ", key=" + row.get("key") + ")");
+				}
+			}
+		});
+		assertEquals(List.of(), fullScans);
+	}
+
+	// enough rows per table that the optimizer prefers an index wherever one applies
+	private void seed() {
+		Timestamp now = Timestamp.valueOf(LocalDateTime.of(2025, 1, 1, 0, 0));
+		jdbcTemplate.batchUpdate("insert into users (id, username, email, role, created_at) values (?, ?, ?, ?, ?)",
+				range(1, USERS), 1000, (ps, n) -> {
+					ps.setInt(1, n);
+					ps.setString(2, "user" + n);
+					ps.setString(3, "user" + n + "@example.com");
+					ps.setString(4, n % 10 == 0 ? "SESSION_INITIATOR" : "GUEST");
+					ps.setTimestamp(5, now);
+				});
+		jdbcTemplate.batchUpdate("insert into sessions (id, session_code, initiator_id, status, created_at, locked_at, "
+						+ "version, first_submitter) values (?, ?, ?, ?, ?, ?, ?, ?)",
+				range(1, SESSIONS), 1000, (ps, n) -> {
+					boolean locked = n % 3 == 0;
+					ps.setInt(1, n);
+					ps.setString(2, "CODE" + n);
+					ps.setInt(3, n % USERS + 1);
+					ps.setString(4, locked ? "LOCKED" : "ACTIVE");
+					ps.setTimestamp(5, now);
+					ps.setTimestamp(6, locked ? now : null);
+					ps.setLong(7, RESTAURANTS_PER_SESSION);
+					ps.setString(8, "user" + n);
+				});
+		jdbcTemplate.batchUpdate("insert into restaurants (id, restaurant_name, normalized_name, submitted_by, "
+						+ "session_id, submitted_at, added_version, weight, submitter_count, vote_count) "
+						+ "values (?, ?, ?, ?, ?, ?, ?, 1, 1, 0)",
+				range(1, SESSIONS * RESTAURANTS_PER_SESSION), 1000, (ps, n) -> {
+					int version = (n - 1) % RESTAURANTS_PER_SESSION + 1;
+					ps.setInt(1, n);
+					ps.setString(2, "Restaurant " + version);
+					ps.setString(3, "restaurant " + version);
+					ps.setString(4, "user" + (n % USERS + 1));
+					ps.setInt(5, (n - 1) / RESTAURANTS_PER_SESSION + 1);
+					ps.setTimestamp(6, Timestamp.valueOf(now.toLocalDateTime().plusSeconds(version)));
+					ps.setInt(7, version);
+				});
+		jdbcTemplate.batchUpdate("insert into restaurant_votes (session_id, restaurant_id, username, voted_at) "
+						+ "values (?, ?, ?, ?)",
+				range(1, SESSIONS * RESTAURANTS_PER_SESSION), 1000, (ps, n) -> {
+					ps.setInt(1, (n - 1) / RESTAURANTS_PER_SESSION + 1);
+					ps.setInt(2, n);
+					ps.setString(3, "user" + (n % USERS + 1));
+					ps.setTimestamp(4, now);
+				});
+		jdbcTemplate.batchUpdate("insert into restaurant_submitters (session_id, restaurant_id, username, submitted_at) "
+						+ "values (?, ?, ?, ?)",
+				range(1, SESSIONS * RESTAURANTS_PER_SESSION), 1000, (ps, n) -> {
+					ps.setInt(1, (n - 1) / RESTAURANTS_PER_SESSION + 1);
+					ps.setInt(2, n);
+					ps.setString(3, "user" + (n % USERS + 1));
+					ps.setTimestamp(4, now);
+				});
+		jdbcTemplate.batchUpdate("insert into restaurant_tombstones (session_id, restaurant_id, removed_version, removed_at) "
+						+ "values (?, ?, ?, ?)",
+				range(1, SESSIONS), 1000, (ps, n) -> {
+					ps.setInt(1, n);
+					ps.setInt(2, SESSIONS * RESTAURANTS_PER_SESSION + n);
+					ps.setInt(3, RESTAURANTS_PER_SESSION);
+					ps.setTimestamp(4, now);
+				});
+		jdbcTemplate.batchUpdate("insert into trending_buckets (metric, bucket_hour, data, checkpointed_at) "
+						+ "values (?, ?, ?, ?)",
+				range(1, 1000), 1000, (ps, n) -> {
+					ps.setString(1, n % 2 == 0 ? "picks" : "submissions");
+					ps.setInt(2, n / 2);
+					ps.setBytes(3, new byte[16]);
+					ps.setTimestamp(4, now);
+				});
+		jdbcTemplate.update("insert into session_code_counter (id, next_value) values (1, 0)");
+		jdbcTemplate.execute("analyze table users, sessions, restaurants, restaurant_votes, restaurant_submitters, "
+				+ "restaurant_tombstones, trending_buckets, session_code_counter");
+	}
+
+	private static List<Integer> range(int from, int to) {
+		return IntStream.rangeClosed(from, to).boxed().toList();
+	}
+
+}
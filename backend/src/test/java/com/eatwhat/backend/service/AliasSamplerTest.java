@@ -0,0 +1,53 @@
+package com.eatwhat.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class AliasSamplerTest {
+
+	private static final int DRAWS = 1_000_000;
+
+	@Test
+	void frequenciesFollowWeights() {
+		long[] weights = {1, 2, 3, 4, 10};
+		int[] counts = draw(new AliasSampler(weights), weights.length);
+		for (int i = 0; i < weights.length; i++) {
+			double expected = weights[i] / 20.0;
+			assertEquals(expected, counts[i] / (double) DRAWS, 0.005, "index " + i);
+		}
+	}
+
+	@Test
+	void zeroWeightIsNeverDrawn() {
+		int[] counts = draw(new AliasSampler(new long[] {0, 5, 0, 5}), 4);
+		assertEquals(0, counts[0]);
+		assertEquals(0, counts[2]);
+	}
+
+	@Test
+	void singleWeightAlwaysDrawn() {
+		int[] counts = draw(new AliasSampler(new long[] {7}), 1);
+		assertEquals(DRAWS, counts[0]);
+	}
+
+	@Test
+	void rejectsUnusableWeights() {
+		assertThrows(IllegalArgumentException.class, () -> new AliasSampler(new long[0]));
+		assertThrows(IllegalArgumentException.class, () -> new AliasSampler(new long[] {0, 0}));
+		assertThrows(IllegalArgumentException.class, () -> new AliasSampler(new long[] {3, -1}));
+	}
+
+	private static int[] draw(AliasSampler sampler, int size) {
+		Random random = new Random(42);
+		int[] counts = new int[size];
+		for (int i = 0; i < DRAWS; i++) {
+			counts[sampler.sample(random)]++;
+		}
+		return counts;
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.eatwhat.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class CountMinSketchTest {
+
+	@Test
+	void neverUndercountsAndStaysWithinBound() {
+		CountMinSketch sketch = new CountMinSketch(4, 1024);
+		Map<String, Integer> exact = new HashMap<>();
+		Random random = new Random(7);
+		int total = 200_000;
+		for (int i = 0; i < total; i++) {
+			// skewed towards low numbers, like restaurant popularity
+			String key = "r" + (int) (Math.pow(random.nextDouble(), 3) * 50_000);
+			sketch.add(key, 1);
+			exact.merge(key, 1, Integer::sum);
+		}
+
+		double bound = Math.E / 1024 * total;
+		int overBound = 0;
+		for (Map.Entry<String, Integer> entry : exact.entrySet()) {
+			int estimate = sketch.estimate(entry.getKey());
+			assertTrue(estimate >= entry.getValue(), entry.getKey());
+			if (estimate - entry.getValue() > bound) {
+				overBound++;
+			}
+		}
+		// the bound holds per key with probability 1 - e^-4
+		assertTrue(overBound <= exact.size() * 0.02, "over bound: " + overBound);
+	}
+
+	@Test
+	void subtractingUndoesAdding() {
+		CountMinSketch window = new CountMinSketch(3, 64);
+		CountMinSketch hour = new CountMinSketch(3, 64);
+		hour.add("pizza", 5);
+		window.add("pizza", 2);
+		window.addAll(hour);
+		assertEquals(7, window.estimate("pizza"));
+		window.subtractAll(hour);
+		assertEquals(2, window.estimate("pizza"));
+	}
+
+}
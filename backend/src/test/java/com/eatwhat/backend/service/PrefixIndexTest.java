@@ -0,0 +1,79 @@
+package com.eatwhat.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class PrefixIndexTest {
+
+	@Test
+	void ranksByFrequencyThenName() {
+		PrefixIndex index = new PrefixIndex(10);
+		index.add("pizzahut", "Pizza Hut", 3);
+		index.add("pizzaexpress", "Pizza Express", 5);
+		index.add("pizza", "Pizza", 3);
+		index.add("pho", "Pho", 9);
+
+		assertEquals(List.of("Pizza Express", "Pizza", "Pizza Hut"), index.suggest("pizz", 10));
+		assertEquals(List.of("Pho", "Pizza Express"), index.suggest("p", 2));
+		assertEquals(List.of("Pizza Hut"), index.suggest("pizzah", 10));
+		assertEquals(List.of(), index.suggest("pizzahuts", 10));
+		assertEquals(List.of(), index.suggest("q", 10));
+	}
+
+	@Test
+	void countsAccumulateUnderTheFirstSpelling() {
+		PrefixIndex index = new PrefixIndex(10);
+		index.add("kfc", "KFC", 1);
+		index.add("kfc", "kfc", 2);
+
+		assertEquals(1, index.size());
+		assertEquals(3, index.count("kfc"));
+		assertEquals(List.of("KFC"), index.suggest("k", 10));
+	}
+
+	@Test
+	void matchesBruteForceUnderRandomUpdates() {
+		Random random = new Random(42);
+		int k = 4;
+		PrefixIndex index = new PrefixIndex(k);
+		Map<String, Integer> counts = new HashMap<>();
+		for (int i = 0; i < 20_000; i++) {
+			String key = randomKey(random);
+			int count = 1 + random.nextInt(3);
+			index.add(key, key, count);
+			counts.merge(key, count, Integer::sum);
+		}
+
+		for (int i = 0; i < 2_000; i++) {
+			String prefix = randomKey(random).substring(0, 1 + random.nextInt(3));
+			List<String> expected = new ArrayList<>();
+			counts.entrySet().stream()
+					.filter(entry -> entry.getKey().startsWith(prefix))
+					.sorted(Comparator.<Map.Entry<String, Integer>>comparingInt(Map.Entry::getValue).reversed()
+							.thenComparing(Map.Entry::getKey))
+					.limit(k)
+					.forEach(entry -> expected.add(entry.getKey()));
+			assertEquals(expected, index.suggest(prefix, k), "prefix " + prefix);
+		}
+		assertEquals(counts.size(), index.size());
+	}
+
+	// a small alphabet so prefixes share long paths and edges get split
+	private static String randomKey(Random random) {
+		StringBuilder key = new StringBuilder();
+		int length = 3 + random.nextInt(5);
+		for (int i = 0; i < length; i++) {
+			key.append((char) ('a' + random.nextInt(4)));
+		}
+		return key.toString();
+	}
+
+}
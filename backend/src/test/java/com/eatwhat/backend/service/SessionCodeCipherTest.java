@@ -0,0 +1,53 @@
+package com.eatwhat.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class SessionCodeCipherTest {
+
+	private final SessionCodeCipher cipher = new SessionCodeCipher("test-secret");
+
+	@Test
+	void consecutiveSequencesGiveDistinctCodes() {
+		Set<String> codes = new HashSet<>();
+		for (long sequence = 0; sequence < 200_000; sequence++) {
+			assertTrue(codes.add(cipher.encode(sequence)), "duplicate code at sequence " + sequence);
+		}
+	}
+
+	@Test
+	void codesAreSevenCrockfordCharacters() {
+		for (long sequence = 0; sequence < 10_000; sequence++) {
+			assertTrue(cipher.encode(sequence).matches("[0-9A-HJKMNP-TV-Z]{7}"));
+		}
+		assertEquals(SessionCodeCipher.CODE_LENGTH, cipher.encode(SessionCodeCipher.CODE_SPACE - 1).length());
+	}
+
+	@Test
+	void permutationStaysInCodeSpace() {
+		for (long sequence = SessionCodeCipher.CODE_SPACE - 10_000; sequence < SessionCodeCipher.CODE_SPACE; sequence++) {
+			long value = cipher.permute(sequence);
+			assertTrue(value >= 0 && value < SessionCodeCipher.CODE_SPACE);
+		}
+	}
+
+	@Test
+	void secretChangesTheSequence() {
+		SessionCodeCipher other = new SessionCodeCipher("other-secret");
+		assertEquals(cipher.encode(42), new SessionCodeCipher("test-secret").encode(42));
+		assertNotEquals(cipher.encode(42), other.encode(42));
+	}
+
+	@Test
+	void exhaustedSpaceIsRejected() {
+		assertThrows(IllegalStateException.class, () -> cipher.encode(SessionCodeCipher.CODE_SPACE));
+	}
+
+}
@@ -0,0 +1,69 @@
+package com.eatwhat.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TrendingCounterTest {
+
+	private static final long HOUR = 500_000;
+
+	@Test
+	void findsHeavyHittersAmongNoise() {
+		TrendingCounter counter = new TrendingCounter(4, 1024, 20, 24);
+		Random random = new Random(3);
+		for (int i = 0; i < 100_000; i++) {
+			int roll = random.nextInt(100);
+			String key = roll < 10 ? "sushi" : roll < 15 ? "pho" : roll < 18 ? "tacos" : "noise" + random.nextInt(20_000);
+			counter.add(key, key, HOUR + random.nextInt(3));
+		}
+
+		List<TrendingCounter.Trend> top = counter.top(24, HOUR + 2, 3);
+		assertEquals(List.of("sushi", "pho", "tacos"), top.stream().map(TrendingCounter.Trend::name).toList());
+		assertEquals(10_000, top.get(0).count(), 1_000);
+	}
+
+	@Test
+	void hoursSlideOutOfTheWindow() {
+		TrendingCounter counter = new TrendingCounter(4, 256, 10, 2, 5);
+		add(counter, "old", HOUR, 5);
+		add(counter, "new", HOUR + 3, 2);
+
+		assertEquals(List.of(new TrendingCounter.Trend("new", 2)), counter.top(2, HOUR + 3, 10));
+		assertEquals(List.of(new TrendingCounter.Trend("old", 5), new TrendingCounter.Trend("new", 2)),
+				counter.top(5, HOUR + 3, 10));
+		assertEquals(List.of(new TrendingCounter.Trend("new", 2)), counter.top(5, HOUR + 5, 10));
+		assertEquals(List.of(), counter.top(5, HOUR + 8, 10));
+		assertThrows(IllegalArgumentException.class, () -> counter.top(3, HOUR, 10));
+	}
+
+	@Test
+	void restoresFromCheckpoint() {
+		TrendingCounter counter = new TrendingCounter(4, 256, 10, 2, 5);
+		add(counter, "old", HOUR, 5);
+		add(counter, "new", HOUR + 3, 2);
+		Map<Long, byte[]> checkpoint = counter.drainDirty();
+		assertEquals(2, checkpoint.size());
+		assertEquals(Map.of(), counter.drainDirty());
+
+		TrendingCounter restored = new TrendingCounter(4, 256, 10, 2, 5);
+		restored.restore(checkpoint, HOUR + 3);
+		assertEquals(counter.top(5, HOUR + 3, 10), restored.top(5, HOUR + 3, 10));
+		assertEquals(counter.top(2, HOUR + 3, 10), restored.top(2, HOUR + 3, 10));
+
+		TrendingCounter reshaped = new TrendingCounter(4, 128, 10, 2, 5);
+		assertThrows(IllegalArgumentException.class, () -> reshaped.restore(checkpoint, HOUR + 3));
+	}
+
+	private static void add(TrendingCounter counter, String key, long hour, int times) {
+		for (int i = 0; i < times; i++) {
+			counter.add(key, key, hour);
+		}
+	}
+
+}
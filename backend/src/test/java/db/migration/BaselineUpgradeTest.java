@@ -0,0 +1,253 @@
+package db.migration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import com.eatwhat.backend.BackendApplication;
+import com.eatwhat.backend.model.Restaurant;
+import com.eatwhat.backend.service.RestaurantService;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+/**
+ * Upgrades a database the way the first release left it: tables created by
+ * ddl-auto=update from that release's entities, copied below, and the Spring
+ * Batch tables from initialize-schema=always. The application then starts on it
+ * with its own Flyway settings and schema validation.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class BaselineUpgradeTest {
+
+	@Container
+	static MySQLContainer released = new MySQLContainer("mysql:8.4");
+
+	@Container
+	static MySQLContainer fresh = new MySQLContainer("mysql:8.4");
+
+	private static List<Map<String, Object>> releasedSchema;
+
+	@BeforeAll
+	static void createReleasedDatabase() {
+		StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+				.applySetting(AvailableSettings.JAKARTA_JDBC_URL, released.getJdbcUrl())
+				.applySetting(AvailableSettings.JAKARTA_JDBC_USER, released.getUsername())
+				.applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, released.getPassword())
+				.applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName())
+				.applySetting(AvailableSettings.HBM2DDL_AUTO, "update")
+				.build();
+		try (SessionFactory sessionFactory = new MetadataSources(registry)
+				.addAnnotatedClasses(ReleasedUser.class, ReleasedSession.class, ReleasedRestaurant.class)
+				.buildMetadata()
+				.buildSessionFactory()) {
+			// building the session factory is what runs the schema update
+		}
+		new ResourceDatabasePopulator(new ClassPathResource("org/springframework/batch/core/schema-mysql.sql"))
+				.execute(dataSource(released));
+		releasedSchema = describe(jdbc(released));
+
+		JdbcTemplate jdbc = jdbc(released);
+		LocalDateTime now = LocalDateTime.now();
+		jdbc.update("insert into users (id, username, email, role, created_at) values "
+				+ "(1, 'ruschin.chin', 'ruschin@example.com', 'SESSION_INITIATOR', ?), "
+				+ "(2, 'guest', 'guest@example.com', 'GUEST', ?)", now, now);
+		jdbc.update("insert into sessions (id, session_code, initiator_id, status, created_at) values "
+				+ "(1, 'A1B2C3', 1, 'ACTIVE', ?), (2, 'D4E5F6', 1, 'LOCKED', ?)", now, now);
+		jdbc.update("insert into restaurants (id, restaurant_name, submitted_by, session_id, submitted_at) values "
+				+ "(1, 'Sushi Zen', 'ruschin.chin', 1, ?), (2, 'McDonald''s', 'guest', 1, ?), "
+				+ "(3, 'mcdonalds', 'ruschin.chin', 1, ?), (4, '!!!', 'guest', 1, ?), "
+				+ "(90, 'Pho 24', 'guest', 2, ?)",
+				now.minusMinutes(5), now.minusMinutes(4), now.minusMinutes(3), now.minusMinutes(2), now);
+		jdbc.update("update sessions set random_restaurant_id = 90, locked_at = ? where id = 2", now);
+	}
+
+	@Test
+	void firstMigrationIsTheReleasedSchema() {
+		Flyway.configure()
+				.dataSource(fresh.getJdbcUrl(), fresh.getUsername(), fresh.getPassword())
+				.target("1")
+				.load()
+				.migrate();
+
+		List<Map<String, Object>> migrated = describe(jdbc(fresh));
+		migrated.removeIf(row -> "flyway_schema_history".equals(row.get("table_name")));
+		assertEquals(releasedSchema, migrated);
+	}
+
+	@Test
+	void releasedDatabaseUpgradesInPlace() {
+		try (ConfigurableApplicationContext app = new SpringApplicationBuilder(BackendApplication.class).run(
+				"--spring.datasource.url=" + released.getJdbcUrl(),
+				"--spring.datasource.username=" + released.getUsername(),
+				"--spring.datasource.password=" + released.getPassword(),
+				"--spring.batch.job.enabled=false",
+				"--server.port=0")) {
+			JdbcTemplate jdbc = jdbc(released);
+
+			assertEquals(List.of("1", "2", "3", "4", "5", "6", "7"), jdbc.queryForList(
+					"select version from flyway_schema_history where success order by installed_rank", String.class));
+
+			// versions numbered in submission order, the oldest submitter first
+			assertEquals(List.of(1L, 2L, 3L, 4L), jdbc.queryForList(
+					"select added_version from restaurants where session_id = 1 order by id", Long.class));
+			assertEquals(4L, jdbc.queryForObject("select version from sessions where id = 1", Long.class));
+			assertEquals("ruschin.chin", jdbc.queryForObject("select first_submitter from sessions where id = 1", String.class));
+			assertEquals("guest", jdbc.queryForObject("select first_submitter from sessions where id = 2", String.class));
+
+			// the older of two colliding names keeps the key, as does a name that normalizes to nothing
+			assertEquals("sushizen", normalizedName(jdbc, 1));
+			assertEquals("mcdonalds", normalizedName(jdbc, 2));
+			assertNull(normalizedName(jdbc, 3));
+			assertNull(normalizedName(jdbc, 4));
+
+			RestaurantService restaurants = app.getBean(RestaurantService.class);
+			Restaurant merged = restaurants.submitRestaurant("A1B2C3", "MCDONALDS", "guest");
+			assertEquals(2L, merged.getId());
+
+			Restaurant added = restaurants.submitRestaurant("A1B2C3", "Ramen Bar", "guest");
+			assertTrue(added.getId() > 90, "new id " + added.getId() + " reuses an existing one");
+			assertTrue(added.getAddedVersion() > 4);
+		}
+	}
+
+	private static String normalizedName(JdbcTemplate jdbc, long id) {
+		return jdbc.queryForObject("select normalized_name from restaurants where id = ?", String.class, id);
+	}
+
+	private static List<Map<String, Object>> describe(JdbcTemplate jdbc) {
+		List<Map<String, Object>> schema = jdbc.queryForList("select table_name, column_name, column_type, "
+				+ "is_nullable, column_default, extra from information_schema.columns "
+				+ "where table_schema = database() order by table_name, column_name");
+		schema.addAll(jdbc.queryForList("select table_name, constraint_name, constraint_type "
+				+ "from information_schema.table_constraints where table_schema = database() "
+				+ "order by table_name, constraint_name"));
+		return schema;
+	}
+
+	private static DriverManagerDataSource dataSource(MySQLContainer db) {
+		return new DriverManagerDataSource(db.getJdbcUrl(), db.getUsername(), db.getPassword());
+	}
+
+	private static JdbcTemplate jdbc(MySQLContainer db) {
+		return new JdbcTemplate(dataSource(db));
+	}
+
+	@Entity(name = "ReleasedUser")
+	@Table(name = "users")
+	static class ReleasedUser {
+
+		@Id
+		@GeneratedValue(strategy = GenerationType.IDENTITY)
+		Long id;
+
+		@Column(nullable = false, unique = true)
+		String username;
+
+		@Column(nullable = false)
+		String email;
+
+		@Enumerated(EnumType.STRING)
+		@Column(name = "role", nullable = false)
+		Role role;
+
+		@Column(name = "created_at", nullable = false)
+		LocalDateTime createdAt;
+
+		enum Role {
+			SESSION_INITIATOR, GUEST
+		}
+
+	}
+
+	@Entity(name = "ReleasedSession")
+	@Table(name = "sessions")
+	static class ReleasedSession {
+
+		@Id
+		@GeneratedValue(strategy = GenerationType.IDENTITY)
+		Long id;
+
+		@Column(name = "session_code", nullable = false, unique = true)
+		String sessionCode;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		@JoinColumn(name = "initiator_id", nullable = false)
+		ReleasedUser initiator;
+
+		@Enumerated(EnumType.STRING)
+		@Column(nullable = false)
+		Status status;
+
+		@Column(name = "created_at", nullable = false)
+		LocalDateTime createdAt;
+
+		@Column(name = "locked_at")
+		LocalDateTime lockedAt;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		@JoinColumn(name = "random_restaurant_id")
+		ReleasedRestaurant randomRestaurant;
+
+		enum Status {
+			ACTIVE, LOCKED
+		}
+
+	}
+
+	@Entity(name = "ReleasedRestaurant")
+	@Table(name = "restaurants")
+	static class ReleasedRestaurant {
+
+		@Id
+		@GeneratedValue(strategy = GenerationType.IDENTITY)
+		Long id;
+
+		@Column(name = "restaurant_name", nullable = false)
+		String restaurantName;
+
+		@Column(nullable = false)
+		String submittedBy;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		@JoinColumn(name = "session_id", nullable = false)
+		ReleasedSession session;
+
+		@Column(name = "submitted_at", nullable = false)
+		LocalDateTime submittedAt;
+
+	}
+
+}
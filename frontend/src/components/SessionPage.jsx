@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useParams, useNavigate, useLocation } from 'react-router-dom';
 import { Card, Form, Button, Alert, Container, Row, Col, ListGroup, Badge, Spinner, Modal } from 'react-bootstrap';
 import { restaurantAPI, sessionAPI, userAPI, handleApiError } from '../services/api';
@@ -29,6 +29,10 @@ const SessionPage = () => {
     const [nameError, setNameError] = useState('');
     const [showDeleteConfirm, setShowDeleteConfirm] = useState(null);
     const [showCopyAlert, setShowCopyAlert] = useState(false);
+    const [votes, setVotes] = useState({});
+    const [suggestions, setSuggestions] = useState([]);
+    // highest session version shown, from the snapshot or an event
+    const versionRef = useRef(-1);
 
     useEffect(() => {
         console.log('[SessionPage] useEffect triggered');
@@ -39,54 +43,143 @@ const SessionPage = () => {
             setUsername(user);
             console.log(`[SessionPage] Username from URL: ${user}`);
         }
-        
-        // Fetch initial data
-        fetchSessionData();
-        
-        // Check if session is locked
-        checkSessionStatus();
-        
-        // Check if user can request random
-        checkCanRequestRandom(user);
+        versionRef.current = -1;
+
+        // Live updates from other participants instead of re-fetching. The stream is opened before the
+        // snapshot is read so no change falls between the two, and every reconnect reads the snapshot
+        // again for whatever was published while the stream was down.
+        let events;
+        let retryTimer;
+        let loaded = false;
+        const resync = () => {
+            fetchSessionData(user, loaded);
+            loaded = true;
+        };
+        const seen = (version) => {
+            versionRef.current = Math.max(versionRef.current, version);
+        };
+
+        const connect = () => {
+            events = sessionAPI.subscribeToEvents(sessionCode);
+            events.addEventListener('open', () => {
+                console.log('[SessionPage] Event stream open, loading session snapshot');
+                resync();
+            });
+            events.addEventListener('error', () => {
+                console.warn('[SessionPage] Event stream interrupted');
+                // the page still loads once without live updates
+                if (!loaded) {
+                    resync();
+                }
+                // the browser retries dropped connections by itself, but not refused ones
+                if (events.readyState === EventSource.CLOSED) {
+                    retryTimer = setTimeout(connect, 5000);
+                }
+            });
+
+            events.addEventListener('restaurant-added', (event) => {
+                const { restaurant, version } = JSON.parse(event.data);
+                console.log('[SessionPage] Event restaurant-added:', restaurant);
+                seen(version);
+                setRestaurants(prev => prev.some(r => r.id === restaurant.id) ? prev : [...prev, restaurant]);
+                checkCanRequestRandom(user);
+            });
+            events.addEventListener('restaurant-merged', (event) => {
+                const { restaurant, version } = JSON.parse(event.data);
+                console.log('[SessionPage] Event restaurant-merged:', restaurant);
+                seen(version);
+                setRestaurants(prev => prev.map(r => r.id === restaurant.id ? restaurant : r));
+            });
+            events.addEventListener('restaurant-deleted', (event) => {
+                const { restaurantId, version } = JSON.parse(event.data);
+                console.log(`[SessionPage] Event restaurant-deleted: ${restaurantId}`);
+                seen(version);
+                setRestaurants(prev => prev.filter(r => r.id !== restaurantId));
+                checkCanRequestRandom(user);
+            });
+            events.addEventListener('session-locked', (event) => {
+                const { randomRestaurant, version } = JSON.parse(event.data);
+                console.log('[SessionPage] Event session-locked:', randomRestaurant);
+                seen(version);
+                setIsLocked(true);
+                if (randomRestaurant) {
+                    setRandomRestaurant(randomRestaurant);
+                }
+            });
+            events.addEventListener('vote-changed', (event) => {
+                const { restaurantId, votes } = JSON.parse(event.data);
+                console.log(`[SessionPage] Event vote-changed: ${restaurantId} has ${votes} votes`);
+                // counts only grow, so an event that arrives late never lowers one
+                setVotes(prev => {
+                    const tally = prev[restaurantId] || { restaurantId, votes: 0, voted: false };
+                    return votes > tally.votes ? {...prev, [restaurantId]: {...tally, votes}} : prev;
+                });
+            });
+        };
+        connect();
+
+        return () => {
+            clearTimeout(retryTimer);
+            events.close();
+        };
     }, [sessionCode, location.search]);
 
-    const fetchSessionData = async () => {
-        console.log(`[SessionPage] Fetching session data for: ${sessionCode}`);
-        setLoading({...loading, fetch: true});
+    // background reloads after a reconnect keep the page on screen instead of showing the spinner
+    const fetchSessionData = async (user, background = false) => {
+        console.log(`[SessionPage] Fetching session snapshot for: ${sessionCode}`);
+        if (!background) {
+            setLoading({...loading, fetch: true});
+        }
         try {
-            // Get session info
-            const sessionResponse = await sessionAPI.getSession(sessionCode);
-            const sessionData = sessionResponse.data.data;
-            setSessionInfo(sessionData);
-            console.log('[SessionPage] Session info loaded:', sessionData);
-            
+            const response = await sessionAPI.getSnapshot(sessionCode, user);
+            const snapshot = response.data.data;
+            if (snapshot.version < versionRef.current) {
+                // an event newer than this snapshot is already shown, read again rather than roll it back
+                return fetchSessionData(user, true);
+            }
+            versionRef.current = snapshot.version;
+            setSessionInfo(snapshot);
+            setRestaurants(snapshot.restaurants);
+            setIsLocked(snapshot.locked);
+            setCanRequestRandom(snapshot.canRequestRandom);
+            console.log(`[SessionPage] Snapshot loaded: ${snapshot.restaurantCount} restaurants, locked: ${snapshot.locked}`);
+            fetchVotes(user);
+
             // Check if random restaurant is already selected and stored
-            if (sessionData.randomRestaurant) {
-                setRandomRestaurant(sessionData.randomRestaurant);
-                console.log('[SessionPage] Random restaurant already selected:', sessionData.randomRestaurant);
+            if (snapshot.randomRestaurant) {
+                setRandomRestaurant(snapshot.randomRestaurant);
+                console.log('[SessionPage] Random restaurant already selected:', snapshot.randomRestaurant);
             }
-            
-            // Get restaurants
-            const restaurantsResponse = await restaurantAPI.getRestaurants(sessionCode);
-            setRestaurants(restaurantsResponse.data.data);
-            console.log(`[SessionPage] Restaurants loaded: ${restaurantsResponse.data.data.length}`);
         } catch (error) {
             showAlert('error', handleApiError(error));
         } finally {
-            setLoading({...loading, fetch: false});
+            if (!background) {
+                setLoading({...loading, fetch: false});
+            }
         }
     };
 
-    const checkSessionStatus = async () => {
-        console.log(`[SessionPage] Checking session status: ${sessionCode}`);
+    const fetchVotes = async (user) => {
         try {
-            const response = await sessionAPI.getSession(sessionCode);
-            // Check if session is locked by checking if random restaurant has been selected
-            const locked = response.data.data.locked || false;
-            setIsLocked(locked);
-            console.log(`[SessionPage] Session locked status: ${locked}`);
+            const response = await restaurantAPI.getVotes(sessionCode, user);
+            const tallies = {};
+            response.data.data.forEach(tally => {
+                tallies[tally.restaurantId] = tally;
+            });
+            setVotes(tallies);
         } catch (error) {
-            console.error('[SessionPage] Error checking session status:', error);
+            console.error('[SessionPage] Error fetching votes:', error);
+        }
+    };
+
+    const handleVote = async (restaurantId) => {
+        console.log(`[SessionPage] Voting for restaurant: ${restaurantId}`);
+        try {
+            const response = await restaurantAPI.vote(sessionCode, restaurantId, username);
+            const tally = response.data.data;
+            setVotes(prev => ({...prev, [restaurantId]: {...tally, votes: Math.max(tally.votes, prev[restaurantId]?.votes || 0)}}));
+        } catch (error) {
+            showAlert('error', handleApiError(error));
         }
     };
 
@@ -131,7 +224,11 @@ const SessionPage = () => {
         try {
             // Backend handles validation (session locked, user permissions, etc.)
             const response = await restaurantAPI.submitRestaurant(sessionCode, restaurantName, username);
-            setRestaurants([...restaurants, response.data.data]);
+            const submitted = response.data.data;
+            // a name the session already had comes back as that restaurant with its new submitter count
+            setRestaurants(prev => prev.some(r => r.id === submitted.id)
+                ? prev.map(r => r.id === submitted.id ? submitted : r)
+                : [...prev, submitted]);
             setRestaurantName('');
             setNameError('');
             checkCanRequestRandom(username);
@@ -149,7 +246,7 @@ const SessionPage = () => {
         
         try {
             await restaurantAPI.deleteRestaurant(sessionCode, restaurantId, username);
-            setRestaurants(restaurants.filter(r => r.id !== restaurantId));
+            setRestaurants(prev => prev.filter(r => r.id !== restaurantId));
             setShowDeleteConfirm(null);
             showAlert('success', 'Restaurant deleted successfully!');
         } catch (error) {
@@ -171,13 +268,31 @@ const SessionPage = () => {
         }
     };
 
-    const handleGetRandomRestaurant = async () => {
-        console.log('[SessionPage] Getting random restaurant');
+    // names other sessions have used, fetched once typing pauses
+    useEffect(() => {
+        const prefix = restaurantName.trim();
+        if (!prefix || isLocked) {
+            setSuggestions([]);
+            return;
+        }
+        const timer = setTimeout(async () => {
+            try {
+                const response = await restaurantAPI.suggestRestaurants(prefix);
+                setSuggestions(response.data.data || []);
+            } catch (error) {
+                setSuggestions([]);
+            }
+        }, 150);
+        return () => clearTimeout(timer);
+    }, [restaurantName, isLocked]);
+
+    const handleGetRandomRestaurant = async (mode = 'random') => {
+        console.log(`[SessionPage] Getting random restaurant, mode: ${mode}`);
         setLoading({...loading, random: true});
         
         try {
             // Backend handles all validation now (first submitter check, session state, etc.)
-            const response = await restaurantAPI.getRandomRestaurant(sessionCode);
+            const response = await restaurantAPI.getRandomRestaurant(sessionCode, mode);
             setRandomRestaurant(response.data.data);
             setIsLocked(true);
             showAlert('success', 'Random restaurant selected!');
@@ -300,11 +415,18 @@ const SessionPage = () => {
                                                         <Form.Control
                                                             type="text"
                                                             placeholder="Enter restaurant name"
+                                                            list="restaurant-suggestions"
+                                                            autoComplete="off"
                                                             value={restaurantName}
                                                             onChange={handleRestaurantNameChange}
                                                             disabled={loading.submit || isLocked}
                                                             isInvalid={!!nameError}
                                                         />
+                                                        <datalist id="restaurant-suggestions">
+                                                            {suggestions.map(name => (
+                                                                <option key={name} value={name} />
+                                                            ))}
+                                                        </datalist>
                                                         {nameError && (
                                                             <Form.Control.Feedback type="invalid">
                                                                 {nameError}
@@ -354,8 +476,22 @@ const SessionPage = () => {
                                                             <strong className="restaurant-name">{restaurant.restaurantName}</strong>
                                                             <br />
                                                             <small className="text-muted">Submitted by: {restaurant.submittedBy}</small>
+                                                            {restaurant.submitterCount > 1 && (
+                                                                <Badge bg="info" className="ms-2">
+                                                                    +{restaurant.submitterCount - 1} more
+                                                                </Badge>
+                                                            )}
                                                         </div>
                                                         <div className="d-flex align-items-center">
+                                                            <Button
+                                                                variant={votes[restaurant.id]?.voted ? 'success' : 'outline-success'}
+                                                                size="sm"
+                                                                onClick={() => handleVote(restaurant.id)}
+                                                                disabled={isLocked || !username || votes[restaurant.id]?.voted}
+                                                                className="me-2"
+                                                            >
+                                                                ▲ {votes[restaurant.id]?.votes || 0}
+                                                            </Button>
                                                             {restaurant.submittedBy === username && (
                                                                 <Badge bg="primary" className="me-2">You</Badge>
                                                             )}
@@ -382,7 +518,7 @@ const SessionPage = () => {
                                     <Button 
                                         variant="danger" 
                                         size="lg"
-                                        onClick={handleGetRandomRestaurant}
+                                        onClick={() => handleGetRandomRestaurant('random')}
                                         disabled={loading.random || isLocked || restaurants.length === 0 || !canRequestRandom}
                                     >
                                         {loading.random ? (
@@ -400,6 +536,15 @@ const SessionPage = () => {
                                             'Get Random Restaurant'
                                         )}
                                     </Button>
+                                    <Button
+                                        variant="outline-danger"
+                                        size="lg"
+                                        className="ms-2"
+                                        onClick={() => handleGetRandomRestaurant('top')}
+                                        disabled={loading.random || isLocked || restaurants.length === 0 || !canRequestRandom}
+                                    >
+                                        Pick Top Voted
+                                    </Button>
                                     {!canRequestRandom && restaurants.length > 0 && (
                                         <div className="text-muted mt-2">
                                             Note: Only the first person to submit a restaurant can request a random choice.
@@ -3,9 +3,14 @@ import axios from 'axios';
 // Base URL for the backend API
 const API_BASE_URL = 'http://localhost:8080/api/v1';
 
+// Polled reads can go to the reactive read module (port 8081) instead
+const READ_API_BASE_URL = import.meta.env.VITE_READ_API_URL || API_BASE_URL;
+
 // Create axios instance with default config
 const apiClient = axios.create({
     baseURL: API_BASE_URL,
+    // sends back the cookie that keeps reads on the primary database right after a write
+    withCredentials: true,
     headers: {
         'Content-Type': 'application/json',
     },
@@ -74,27 +79,42 @@ export const userAPI = {
 export const sessionAPI = {
     createSession: (username) => apiClient.post('/sessions', { username }),
     
-    getSession: (sessionCode) => apiClient.get(`/sessions/${encodeURIComponent(sessionCode)}`),
+    getSession: (sessionCode) =>
+        apiClient.get(`/sessions/${encodeURIComponent(sessionCode)}`, { baseURL: READ_API_BASE_URL }),
+    
+    // session, restaurants, lock status and random permission for the page load
+    getSnapshot: (sessionCode, username) =>
+        apiClient.get(`/sessions/${encodeURIComponent(sessionCode)}/snapshot`, { params: { user: username } }),
     
     lockSession: (sessionCode) => apiClient.put(`/sessions/${encodeURIComponent(sessionCode)}/lock`),
+
+    // Server-Sent Events: restaurant-added, restaurant-merged, restaurant-deleted, session-locked
+    subscribeToEvents: (sessionCode) =>
+        new EventSource(`${API_BASE_URL}/sessions/${encodeURIComponent(sessionCode)}/events`),
 };
 
 // Restaurant API endpoints
 export const restaurantAPI = {
-    submitRestaurant: (sessionCode, restaurantName, submittedBy) => 
+    submitRestaurant: (sessionCode, restaurantName, submittedBy, weight) => 
         apiClient.post(`/sessions/${encodeURIComponent(sessionCode)}/restaurants`, {
             restaurantName,
-            submittedBy
+            submittedBy,
+            weight
         }),
     
     getRestaurants: (sessionCode) => 
-        apiClient.get(`/sessions/${encodeURIComponent(sessionCode)}/restaurants`),
+        apiClient.get(`/sessions/${encodeURIComponent(sessionCode)}/restaurants`, { baseURL: READ_API_BASE_URL }),
     
-    getRandomRestaurant: (sessionCode) => 
-        apiClient.get(`/sessions/${encodeURIComponent(sessionCode)}/restaurants/random`),
+    getRandomRestaurant: (sessionCode, mode = 'random') => 
+        apiClient.get(`/sessions/${encodeURIComponent(sessionCode)}/restaurants/random`, {
+            params: { mode }
+        }),
+    
+    previewRandomRestaurant: (sessionCode) =>
+        apiClient.get(`/sessions/${encodeURIComponent(sessionCode)}/restaurants/random/preview`),
     
     getRestaurantCount: (sessionCode) => 
-        apiClient.get(`/sessions/${encodeURIComponent(sessionCode)}/restaurants/count`),
+        apiClient.get(`/sessions/${encodeURIComponent(sessionCode)}/restaurants/count`, { baseURL: READ_API_BASE_URL }),
     
     canRequestRandom: (sessionCode, username) => 
         apiClient.get(`/sessions/${encodeURIComponent(sessionCode)}/restaurants/can-request-random/${encodeURIComponent(username)}`),
@@ -103,6 +123,26 @@ export const restaurantAPI = {
         apiClient.post(`/sessions/${encodeURIComponent(sessionCode)}/restaurants/${restaurantId}/delete`, {
             username
         }),
+
+    vote: (sessionCode, restaurantId, username) =>
+        apiClient.post(`/sessions/${encodeURIComponent(sessionCode)}/restaurants/${restaurantId}/votes`, {
+            username
+        }),
+
+    getVotes: (sessionCode, username) =>
+        apiClient.get(`/sessions/${encodeURIComponent(sessionCode)}/restaurants/votes`, {
+            params: username ? { user: username } : {}
+        }),
+
+    suggestRestaurants: (prefix, limit = 10) =>
+        apiClient.get('/restaurants/suggest', {
+            params: { prefix, limit }
+        }),
+
+    getTrendingRestaurants: (metric = 'picks', window = 'week', limit = 10) =>
+        apiClient.get('/restaurants/trending', {
+            params: { metric, window, limit }
+        }),
 };
 
 // Utility function to handle API errors